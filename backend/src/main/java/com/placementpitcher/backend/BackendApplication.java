@@ -6,6 +6,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 @SpringBootApplication
 @org.springframework.scheduling.annotation.EnableScheduling
 @org.springframework.scheduling.annotation.EnableAsync
+@org.springframework.data.mongodb.config.EnableMongoAuditing
 public class BackendApplication {
 
 	public static void main(String[] args) {
@@ -13,9 +14,4 @@ public class BackendApplication {
 		SpringApplication.run(BackendApplication.class, args);
 	}
 
-	@org.springframework.context.annotation.Bean
-	public org.springframework.web.client.RestTemplate restTemplate() {
-		return new org.springframework.web.client.RestTemplate();
-	}
-
 }
@@ -0,0 +1,89 @@
+package com.placementpitcher.backend.concurrent;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for background work that mostly waits on external services.
+ * With virtual threads every task gets its own thread and a semaphore
+ * provides the concurrency cap a fixed pool size used to, so queued tasks
+ * park cheaply instead of holding on to platform threads.
+ */
+public final class BoundedExecutors {
+
+    private BoundedExecutors() {
+    }
+
+    public static ExecutorService create(String name, int maxConcurrent, boolean virtualThreads) {
+        if (virtualThreads) {
+            return new SemaphoreBoundedExecutor(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory()),
+                    maxConcurrent);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(maxConcurrent, r -> {
+            Thread t = new Thread(r, name + "-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static final class SemaphoreBoundedExecutor extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+
+        SemaphoreBoundedExecutor(ExecutorService delegate, int maxConcurrent) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(maxConcurrent);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    // Shut down while waiting for a slot: the task never started
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
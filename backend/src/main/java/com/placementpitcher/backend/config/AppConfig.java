@@ -3,11 +3,17 @@ package com.placementpitcher.backend.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.placementpitcher.backend.concurrent.BoundedExecutors;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class AppConfig {
 
@@ -16,11 +22,29 @@ public class AppConfig {
         return RestClient.builder();
     }
 
+    // Non-blocking client for Gemini and Resend. Requests multiplex over HTTP/2 and
+    // responses are handed back on a few threads, however many calls are in flight
+    @Bean
+    public HttpClient httpClient(@Value("${http.client.threads:4}") int threads) {
+        return HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(BoundedExecutors.create("http-client", threads, false))
+                .build();
+    }
+
+    // Picked up by Boot's JSON mapper, which renders the HTTP responses: generated
+    // accessors instead of reflection for bean (de)serialization
+    @Bean
+    public tools.jackson.module.blackbird.BlackbirdModule httpBlackbirdModule() {
+        return new tools.jackson.module.blackbird.BlackbirdModule();
+    }
+
     @Bean
     @Primary
     public ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
+        mapper.registerModule(new BlackbirdModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         return mapper;
     }
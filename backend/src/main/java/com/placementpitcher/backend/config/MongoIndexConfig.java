@@ -0,0 +1,79 @@
+package com.placementpitcher.backend.config;
+
+import com.placementpitcher.backend.model.CachedAiResponse;
+import com.placementpitcher.backend.model.Contact;
+import com.placementpitcher.backend.model.ContactCounter;
+import com.placementpitcher.backend.model.ContactTombstone;
+import com.placementpitcher.backend.model.DailyActivity;
+import com.placementpitcher.backend.model.DraftJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Auto index creation is off by default in Spring Data, so the indexes declared
+ * on these documents are created explicitly once the app is up.
+ */
+@Configuration
+public class MongoIndexConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexConfig.class);
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(
+            CachedAiResponse.class,
+            Contact.class,
+            ContactCounter.class,
+            ContactTombstone.class,
+            DailyActivity.class,
+            DraftJob.class);
+
+    // Indexes an earlier version declared; dropped so they stop applying
+    private static final Map<Class<?>, List<String>> RETIRED_INDEXES = Map.of(
+            DraftJob.class, List.of("createdAt"));
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate, MongoMappingContext mappingContext) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> type : INDEXED_DOCUMENTS) {
+            try {
+                IndexOperations indexOps = mongoTemplate.indexOps(type);
+                dropRetiredIndexes(type, indexOps);
+                resolver.resolveIndexFor(type).forEach(indexOps::createIndex);
+            } catch (Exception e) {
+                logger.error("Failed to create indexes for {}: {}", type.getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private void dropRetiredIndexes(Class<?> type, IndexOperations indexOps) {
+        List<String> retired = RETIRED_INDEXES.getOrDefault(type, List.of());
+        if (retired.isEmpty()) {
+            return;
+        }
+        for (IndexInfo index : indexOps.getIndexInfo()) {
+            if (retired.contains(index.getName())) {
+                logger.info("Dropping retired index {} on {}", index.getName(), type.getSimpleName());
+                indexOps.dropIndex(index.getName());
+            }
+        }
+    }
+}
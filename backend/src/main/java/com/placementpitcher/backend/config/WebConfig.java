@@ -0,0 +1,20 @@
+package com.placementpitcher.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final SerializationTimer serializationTimer;
+
+    public WebConfig(SerializationTimer serializationTimer) {
+        this.serializationTimer = serializationTimer;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(serializationTimer).addPathPatterns("/api/**");
+    }
+}
@@ -1,35 +1,72 @@
 package com.placementpitcher.backend.controller;
 
 import com.placementpitcher.backend.dto.GenerateEmailRequest;
+import com.placementpitcher.backend.dto.GeneratedEmail;
 import com.placementpitcher.backend.model.Contact;
+import com.placementpitcher.backend.model.DraftJob;
 import com.placementpitcher.backend.repository.ContactRepository;
+import com.placementpitcher.backend.security.AuthenticatedUser;
 import com.placementpitcher.backend.service.AiService;
+import com.placementpitcher.backend.service.DraftJobService;
+import com.placementpitcher.backend.service.DraftStreamingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.Map;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api")
 public class AiController {
 
     private final AiService aiService;
+    private final DraftStreamingService draftStreamingService;
+    private final DraftJobService draftJobService;
     private final ContactRepository contactRepository;
 
-    public AiController(AiService aiService, ContactRepository contactRepository) {
+    public AiController(AiService aiService, DraftStreamingService draftStreamingService,
+            DraftJobService draftJobService, ContactRepository contactRepository) {
         this.aiService = aiService;
+        this.draftStreamingService = draftStreamingService;
+        this.draftJobService = draftJobService;
         this.contactRepository = contactRepository;
     }
 
     @PostMapping("/generate-email")
-    public ResponseEntity<Map<String, String>> generateEmail(@RequestBody GenerateEmailRequest request) {
+    public ResponseEntity<GeneratedEmail> generateEmail(@RequestBody GenerateEmailRequest request) {
         Contact contact = contactRepository.findById(request.getContactId())
                 .orElseThrow(() -> new RuntimeException("Contact not found"));
 
-        Map<String, String> generatedEmail = aiService.generateEmail(contact);
+        GeneratedEmail generatedEmail = aiService.generateEmail(contact, request.isRegenerate());
         return ResponseEntity.ok(generatedEmail);
     }
+
+    @PostMapping(value = "/generate-email/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmail(@RequestBody GenerateEmailRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return draftStreamingService.stream(request.getContactId(), user);
+    }
+
+    @PostMapping("/generate-email/jobs")
+    public ResponseEntity<DraftJob> submitJob(@RequestBody GenerateEmailRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        DraftJob job = draftJobService.submit(request, user);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/generate-email/jobs/{id}")
+    public ResponseEntity<DraftJob> getJob(@PathVariable String id, @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(draftJobService.getJob(id, user));
+    }
+
+    @GetMapping(value = "/generate-email/jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(@PathVariable String id, @AuthenticationPrincipal AuthenticatedUser user) {
+        return draftJobService.subscribe(id, user);
+    }
 }
@@ -1,12 +1,27 @@
 package com.placementpitcher.backend.controller;
 
+import com.fasterxml.jackson.annotation.JsonView;
+import com.placementpitcher.backend.dto.ContactChanges;
+import com.placementpitcher.backend.dto.ContactSearchResponse;
 import com.placementpitcher.backend.model.Contact;
+import com.placementpitcher.backend.model.ContactViews;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import com.placementpitcher.backend.service.ContactChangesService;
+import com.placementpitcher.backend.service.ContactExportService;
+import com.placementpitcher.backend.service.ContactSearchService;
 import com.placementpitcher.backend.service.ContactService;
+import com.placementpitcher.backend.service.TeamVersionService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -14,45 +29,100 @@ import java.util.List;
 public class ContactController {
 
     private final ContactService contactService;
+    private final ContactExportService contactExportService;
+    private final ContactSearchService contactSearchService;
+    private final TeamVersionService teamVersionService;
+    private final ContactChangesService contactChangesService;
 
-    public ContactController(ContactService contactService) {
+    public ContactController(ContactService contactService, ContactExportService contactExportService,
+            ContactSearchService contactSearchService, TeamVersionService teamVersionService,
+            ContactChangesService contactChangesService) {
         this.contactService = contactService;
+        this.contactExportService = contactExportService;
+        this.contactSearchService = contactSearchService;
+        this.teamVersionService = teamVersionService;
+        this.contactChangesService = contactChangesService;
     }
 
     @GetMapping
-    public ResponseEntity<List<Contact>> getContacts() {
-        String email = getCurrentUserEmail();
-        return ResponseEntity.ok(contactService.getContactsForUser(email));
+    @JsonView(ContactViews.Summary.class)
+    public ResponseEntity<List<Contact>> getContacts(@AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest request) {
+        String etag = teamVersionService.etag("contacts", user);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(contactService.getContactsForUser(user));
+    }
+
+    // Delta sync: omit since for a full sync, then pass back next_since each time
+    @GetMapping("/changes")
+    @JsonView(ContactViews.Summary.class)
+    public ResponseEntity<ContactChanges> getChanges(@RequestParam(value = "since", required = false) String since,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(contactChangesService.getChanges(user, since));
     }
 
     @PostMapping
-    public ResponseEntity<Contact> createContact(@RequestBody Contact contact) {
-        String email = getCurrentUserEmail();
-        return ResponseEntity.ok(contactService.createContact(contact, email));
+    @JsonView(ContactViews.Detail.class)
+    public ResponseEntity<Contact> createContact(@RequestBody Contact contact,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(contactService.createContact(contact, user));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Contact> updateContact(@PathVariable String id, @RequestBody Contact contact) {
-        String email = getCurrentUserEmail();
-        return ResponseEntity.ok(contactService.updateContact(id, contact, email));
+    @JsonView(ContactViews.Detail.class)
+    public ResponseEntity<Contact> updateContact(@PathVariable String id, @RequestBody Contact contact,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(contactService.updateContact(id, contact, user));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteContact(@PathVariable String id) {
-        String email = getCurrentUserEmail();
-        contactService.deleteContact(id, email);
+    public ResponseEntity<?> deleteContact(@PathVariable String id, @AuthenticationPrincipal AuthenticatedUser user) {
+        contactService.deleteContact(id, user);
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/assign")
-    public ResponseEntity<?> assignContacts(@RequestBody com.placementpitcher.backend.dto.AssignRequest request) {
-        String email = getCurrentUserEmail();
-        contactService.assignContacts(request.getUserId(), request.getContactIds(), email);
+    public ResponseEntity<?> assignContacts(@RequestBody com.placementpitcher.backend.dto.AssignRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        contactService.assignContacts(request.getUserId(), request.getContactIds(), user);
         return ResponseEntity.ok("Contacts assigned successfully");
     }
 
-    private String getCurrentUserEmail() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return authentication.getName(); // Returns the username (email)
+    @GetMapping("/search")
+    public ResponseEntity<ContactSearchResponse> searchContacts(@RequestParam("q") String query,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(contactSearchService.search(user, query, page, size));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportContacts(
+            @RequestParam(value = "format", defaultValue = "xlsx") String format,
+            @RequestParam(value = "include_status", defaultValue = "false") boolean includeStatus,
+            @RequestParam(value = "assigned_to_id", required = false) String assignedToId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        ContactExportService.ExportRequest export = contactExportService.prepare(user, assignedToId,
+                includeStatus);
+
+        boolean csv = "csv".equalsIgnoreCase(format);
+        StreamingResponseBody body = csv
+                ? out -> contactExportService.writeCsv(export, out)
+                : out -> contactExportService.writeXlsx(export, out);
+
+        return ResponseEntity.ok()
+                .contentType(csv
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType(
+                                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(csv ? "contacts.csv" : "contacts.xlsx")
+                        .build()
+                        .toString())
+                .body(body);
     }
 }
@@ -1,53 +1,38 @@
 package com.placementpitcher.backend.controller;
 
 import com.placementpitcher.backend.dto.StatsResponse;
-import com.placementpitcher.backend.model.User;
-import com.placementpitcher.backend.repository.ContactRepository;
-import com.placementpitcher.backend.repository.UserRepository;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import com.placementpitcher.backend.service.ContactStatsService;
+import com.placementpitcher.backend.service.TeamVersionService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api")
 public class DashboardController {
 
-    private final ContactRepository contactRepository;
-    private final UserRepository userRepository;
+    private final ContactStatsService contactStatsService;
+    private final TeamVersionService teamVersionService;
 
-    public DashboardController(ContactRepository contactRepository, UserRepository userRepository) {
-        this.contactRepository = contactRepository;
-        this.userRepository = userRepository;
+    public DashboardController(ContactStatsService contactStatsService, TeamVersionService teamVersionService) {
+        this.contactStatsService = contactStatsService;
+        this.teamVersionService = teamVersionService;
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<StatsResponse> getStats() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String email = auth.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        StatsResponse stats = new StatsResponse();
-
-        if (user.getRole() == User.Role.CORE) {
-            String teamId = user.getTeamId();
-            stats.setTotalContacts(contactRepository.countByTeamId(teamId));
-            stats.setPending(contactRepository.countByTeamIdAndStatus(teamId, "Pending"));
-            stats.setGenerated(contactRepository.countByTeamIdAndStatus(teamId, "Generated"));
-            stats.setSent(contactRepository.countByTeamIdAndStatus(teamId, "Sent"));
-            stats.setReplies(contactRepository.countByTeamIdAndStatus(teamId, "Reply Received"));
-        } else {
-            String userId = user.getId();
-            stats.setTotalContacts(contactRepository.countByAssignedToId(userId));
-            stats.setPending(contactRepository.countByAssignedToIdAndStatus(userId, "Pending"));
-            stats.setGenerated(contactRepository.countByAssignedToIdAndStatus(userId, "Generated"));
-            stats.setSent(contactRepository.countByAssignedToIdAndStatus(userId, "Sent"));
-            stats.setReplies(contactRepository.countByAssignedToIdAndStatus(userId, "Reply Received"));
+    public ResponseEntity<StatsResponse> getStats(@AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest request) {
+        String etag = teamVersionService.etag("stats", user);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
         }
-
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(contactStatsService.getStats(user));
     }
 }
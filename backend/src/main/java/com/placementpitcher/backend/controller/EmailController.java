@@ -1,10 +1,10 @@
 package com.placementpitcher.backend.controller;
 
 import com.placementpitcher.backend.dto.SendEmailRequest;
+import com.placementpitcher.backend.security.AuthenticatedUser;
 import com.placementpitcher.backend.service.EmailSendingService;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -27,9 +27,8 @@ public class EmailController {
             @org.springframework.web.bind.annotation.RequestParam("body") String body,
             @org.springframework.web.bind.annotation.RequestParam("contact_company_name") String contactCompanyName,
             @org.springframework.web.bind.annotation.RequestParam(value = "files", required = false) java.util.List<org.springframework.web.multipart.MultipartFile> files,
-            @org.springframework.web.bind.annotation.RequestParam(value = "in_reply_to_message_id", required = false) String inReplyToMessageId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String email = auth.getName();
+            @org.springframework.web.bind.annotation.RequestParam(value = "in_reply_to_message_id", required = false) String inReplyToMessageId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
 
         // Find Contact ID based on email/company?
         // Frontend sends contact_email and company_name but NOT ID according to my read
@@ -50,7 +49,7 @@ public class EmailController {
         // raw params.
 
         // I will pass these params to the service.
-        emailSendingService.sendEmail(contactEmail, subject, body, contactCompanyName, files, email,
+        emailSendingService.sendEmail(contactEmail, subject, body, contactCompanyName, files, user,
                 inReplyToMessageId);
         return ResponseEntity.ok("Email sent successfully");
     }
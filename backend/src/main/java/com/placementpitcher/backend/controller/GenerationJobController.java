@@ -0,0 +1,43 @@
+package com.placementpitcher.backend.controller;
+
+import com.placementpitcher.backend.dto.BatchGenerateRequest;
+import com.placementpitcher.backend.dto.GenerationJobProgress;
+import com.placementpitcher.backend.model.GenerationJob;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import com.placementpitcher.backend.service.BatchGenerationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/generation-jobs")
+public class GenerationJobController {
+
+    private final BatchGenerationService batchGenerationService;
+
+    public GenerationJobController(BatchGenerationService batchGenerationService) {
+        this.batchGenerationService = batchGenerationService;
+    }
+
+    @PostMapping
+    public ResponseEntity<GenerationJobProgress> createJob(@RequestBody BatchGenerateRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        GenerationJob job = batchGenerationService.submit(request, user);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(GenerationJobProgress.from(job));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<GenerationJobProgress> getJob(@PathVariable String id,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        GenerationJob job = batchGenerationService.getJob(id, user);
+        return ResponseEntity.ok(GenerationJobProgress.from(job));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProgress(@PathVariable String id, @AuthenticationPrincipal AuthenticatedUser user) {
+        return batchGenerationService.subscribe(id, user);
+    }
+}
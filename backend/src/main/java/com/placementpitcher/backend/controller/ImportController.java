@@ -1,38 +1,77 @@
 package com.placementpitcher.backend.controller;
 
+import com.placementpitcher.backend.dto.ImportResult;
+import com.placementpitcher.backend.model.ImportJob;
+import com.placementpitcher.backend.security.AuthenticatedUser;
 import com.placementpitcher.backend.service.ExcelImportService;
+import com.placementpitcher.backend.service.ImportJobService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
 public class ImportController {
 
     private final ExcelImportService excelImportService;
+    private final ImportJobService importJobService;
 
-    public ImportController(ExcelImportService excelImportService) {
+    public ImportController(ExcelImportService excelImportService, ImportJobService importJobService) {
         this.excelImportService = excelImportService;
+        this.importJobService = importJobService;
     }
 
     @PostMapping("/upload")
-    public ResponseEntity<Map<String, Integer>> uploadFile(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<ImportResult> uploadFile(@RequestParam("file") MultipartFile file,
+            @RequestParam(value = "encoding", required = false) String encoding,
+            @RequestParam(value = "merge", defaultValue = "false") boolean merge,
+            @AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String email = auth.getName();
-
-            Map<String, Integer> stats = excelImportService.importContacts(file, email);
+            ImportResult stats = excelImportService.importContacts(file, user, encoding, merge);
             return ResponseEntity.ok(stats);
         } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    @PostMapping("/import-jobs")
+    public ResponseEntity<ImportJob> submitImportJob(@RequestParam("file") MultipartFile file,
+            @RequestParam(value = "encoding", required = false) String encoding,
+            @RequestParam(value = "merge", defaultValue = "false") boolean merge,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        try {
+            ImportJob job = importJobService.submit(file, encoding, merge, user);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/import-jobs/{id}")
+    public ResponseEntity<ImportJob> getImportJob(@PathVariable String id,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(importJobService.getJob(id, user));
+    }
+
+    @GetMapping(value = "/import-jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamImportJob(@PathVariable String id, @AuthenticationPrincipal AuthenticatedUser user) {
+        return importJobService.subscribe(id, user);
+    }
+
+    @PostMapping("/import-jobs/{id}/cancel")
+    public ResponseEntity<ImportJob> cancelImportJob(@PathVariable String id,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(importJobService.cancel(id, user));
+    }
 }
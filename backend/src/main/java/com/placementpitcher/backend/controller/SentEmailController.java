@@ -1,17 +1,22 @@
 package com.placementpitcher.backend.controller;
 
+import com.placementpitcher.backend.dto.SentEmailPage;
 import com.placementpitcher.backend.dto.SentEmailSummaryDTO;
 import com.placementpitcher.backend.model.Contact;
 import com.placementpitcher.backend.model.SentEmail;
 import com.placementpitcher.backend.model.User;
 import com.placementpitcher.backend.repository.ContactRepository;
-import com.placementpitcher.backend.repository.UserRepository;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import com.placementpitcher.backend.service.SentEmailFeedService;
+import com.placementpitcher.backend.service.TeamVersionService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,18 +27,32 @@ import java.util.stream.Collectors;
 public class SentEmailController {
 
     private final ContactRepository contactRepository;
-    private final UserRepository userRepository;
+    private final SentEmailFeedService sentEmailFeedService;
+    private final TeamVersionService teamVersionService;
 
-    public SentEmailController(ContactRepository contactRepository, UserRepository userRepository) {
+    public SentEmailController(ContactRepository contactRepository, SentEmailFeedService sentEmailFeedService,
+            TeamVersionService teamVersionService) {
         this.contactRepository = contactRepository;
-        this.userRepository = userRepository;
+        this.sentEmailFeedService = sentEmailFeedService;
+        this.teamVersionService = teamVersionService;
+    }
+
+    // Paginated, newest first; pass next_cursor from the previous page to continue
+    @GetMapping("/sent-emails/feed")
+    public ResponseEntity<SentEmailPage> getSentEmailFeed(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(sentEmailFeedService.getPage(user, cursor, limit));
     }
 
     @GetMapping("/sent-emails")
-    public ResponseEntity<List<SentEmailSummaryDTO>> getSentEmails() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public ResponseEntity<List<SentEmailSummaryDTO>> getSentEmails(@AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest request) {
+        String etag = teamVersionService.etag("sent-emails", user);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
 
         List<Contact> contacts;
         if (user.getRole() == User.Role.CORE) {
@@ -52,6 +71,7 @@ public class SentEmailController {
                     dto.setSentAt(sent.getSentAt());
                     dto.setContactCompany(contact.getCompanyName());
                     dto.setContactEmail(contact.getEmail());
+                    dto.setContactId(contact.getId());
                     summaries.add(dto);
                 }
             }
@@ -60,6 +80,8 @@ public class SentEmailController {
         // Sort descenting by date
         summaries.sort((a, b) -> b.getSentAt().compareTo(a.getSentAt()));
 
-        return ResponseEntity.ok(summaries);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(summaries);
     }
 }
@@ -5,6 +5,7 @@ import com.placementpitcher.backend.repository.SettingsRepository;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -30,6 +31,7 @@ public class SettingsController {
     public ResponseEntity<Settings> saveSettings(@RequestBody Settings settings) {
         List<Settings> allSettings = settingsRepository.findAll();
         if (allSettings.isEmpty()) {
+            settings.setUpdatedAt(LocalDateTime.now());
             return ResponseEntity.ok(settingsRepository.save(settings));
         }
 
@@ -47,6 +49,7 @@ public class SettingsController {
         if (settings.getBrochureUrl() != null) {
             existing.setBrochureUrl(settings.getBrochureUrl());
         }
+        existing.setUpdatedAt(LocalDateTime.now()); // Invalidates the cached brochure text
 
         return ResponseEntity.ok(settingsRepository.save(existing));
     }
@@ -1,14 +1,17 @@
 package com.placementpitcher.backend.controller;
 
 import com.placementpitcher.backend.dto.SetupAccountRequest;
+import com.placementpitcher.backend.dto.UserSummary;
 import com.placementpitcher.backend.model.User;
 import com.placementpitcher.backend.repository.UserRepository;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import com.placementpitcher.backend.service.TeamVersionService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -19,30 +22,27 @@ public class UserController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final com.placementpitcher.backend.service.EmailSendingService emailSendingService;
+    private final TeamVersionService teamVersionService;
 
     public UserController(UserRepository userRepository, PasswordEncoder passwordEncoder,
-            com.placementpitcher.backend.service.EmailSendingService emailSendingService) {
+            com.placementpitcher.backend.service.EmailSendingService emailSendingService,
+            TeamVersionService teamVersionService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.emailSendingService = emailSendingService;
+        this.teamVersionService = teamVersionService;
     }
 
     @PostMapping("/users")
-    public ResponseEntity<?> createUser(@RequestBody User newUser) {
+    public ResponseEntity<?> createUser(@RequestBody User newUser,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         // 1. Check if email already exists
         if (userRepository.findByEmail(newUser.getEmail()).isPresent()) {
             return ResponseEntity.badRequest().body("Email already exists");
         }
 
         // 2. Get current user's teamId
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentTeamId = null;
-
-        if (authentication != null && authentication.getPrincipal() instanceof UserDetails) {
-            String email = ((UserDetails) authentication.getPrincipal()).getUsername();
-            User currentUser = userRepository.findByEmail(email).orElseThrow();
-            currentTeamId = currentUser.getTeamId();
-        }
+        String currentTeamId = currentUser != null ? currentUser.getTeamId() : null;
         // NOTE: In a real "Invite Core" scenario, the initial user might not have a
         // team yet
         // or we might be creating a new Team. But for "Adding Coordinator", we use
@@ -71,7 +71,7 @@ public class UserController {
             // Consider rollback or returning a warning? For now proceed.
         }
 
-        return ResponseEntity.ok(savedUser);
+        return ResponseEntity.ok(UserSummary.from(savedUser));
     }
 
     @PostMapping("/setup-account")
@@ -87,20 +87,21 @@ public class UserController {
     }
 
     @GetMapping("/users")
-    public ResponseEntity<?> getUsers() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentTeamId = null;
-
-        if (authentication != null && authentication.getPrincipal() instanceof UserDetails) {
-            String email = ((UserDetails) authentication.getPrincipal()).getUsername();
-            User currentUser = userRepository.findByEmail(email).orElseThrow();
-            currentTeamId = currentUser.getTeamId();
-        }
+    public ResponseEntity<?> getUsers(@AuthenticationPrincipal AuthenticatedUser currentUser, WebRequest request) {
+        String currentTeamId = currentUser != null ? currentUser.getTeamId() : null;
 
         if (currentTeamId == null) {
             return ResponseEntity.badRequest().body("User not associated with a team");
         }
 
-        return ResponseEntity.ok(userRepository.findByTeamId(currentTeamId));
+        if (request.checkNotModified(teamVersionService.etag("users", currentUser))) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(userRepository.findByTeamId(currentTeamId).stream()
+                .map(UserSummary::from)
+                .toList());
     }
 }
@@ -0,0 +1,40 @@
+package com.placementpitcher.backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class AnalyticsResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private Summary team = new Summary();
+    private List<CoordinatorActivity> coordinators = new ArrayList<>();
+
+    @Data
+    public static class Summary {
+        private long sent;
+        private long replies;
+        private long contactsEmailed;
+        private long contactsReplied;
+        private Double replyRate; // contactsReplied / contactsEmailed, null if nobody was emailed
+        private Long medianMinutesToFirstReply; // null if nobody replied
+    }
+
+    @Data
+    public static class CoordinatorActivity {
+        private String coordinatorId; // null for unassigned contacts
+        private String coordinatorName;
+        private Summary summary = new Summary();
+        private List<DayActivity> daily = new ArrayList<>();
+    }
+
+    @Data
+    public static class DayActivity {
+        private LocalDate date;
+        private long sent;
+        private long replies;
+    }
+}
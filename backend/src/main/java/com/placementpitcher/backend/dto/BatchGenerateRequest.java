@@ -0,0 +1,11 @@
+package com.placementpitcher.backend.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class BatchGenerateRequest {
+    private List<String> contactIds; // Explicit selection, optional
+    private String status; // Filter by status, defaults to "Pending" when nothing else is given
+    private String assignedToId; // Filter by assignee (Core only)
+}
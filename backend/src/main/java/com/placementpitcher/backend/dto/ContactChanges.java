@@ -0,0 +1,19 @@
+package com.placementpitcher.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.placementpitcher.backend.model.Contact;
+import com.placementpitcher.backend.model.ContactViews;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@JsonView(ContactViews.Summary.class)
+public class ContactChanges {
+    private boolean reset; // Drop everything held locally before applying this page
+    private List<String> removedIds = new ArrayList<>(); // Apply before items
+    private List<Contact> items = new ArrayList<>(); // Created or updated, oldest change first
+    private boolean hasMore; // Call again right away with nextSince
+    private String nextSince;
+}
@@ -0,0 +1,15 @@
+package com.placementpitcher.backend.dto;
+
+import com.placementpitcher.backend.model.Contact;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ContactSearchResponse {
+    private List<Contact> items = new ArrayList<>(); // Best match first; email and reply bodies omitted
+    private int page;
+    private int size;
+    private boolean hasMore;
+}
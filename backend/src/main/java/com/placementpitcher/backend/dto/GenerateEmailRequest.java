@@ -5,4 +5,5 @@ import lombok.Data;
 @Data
 public class GenerateEmailRequest {
     private String contactId;
+    private boolean regenerate; // Skip the response cache and ask for a new variant
 }
@@ -0,0 +1,4 @@
+package com.placementpitcher.backend.dto;
+
+public record GeneratedEmail(String subject, String body) {
+}
@@ -0,0 +1,28 @@
+package com.placementpitcher.backend.dto;
+
+import com.placementpitcher.backend.model.GenerationJob;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class GenerationJobProgress {
+    private String jobId;
+    private GenerationJob.Status status;
+    private int total;
+    private int generated;
+    private int failed;
+    private List<GenerationJob.Failure> failures;
+    private String lastContactId; // Contact whose result triggered this event, if any
+
+    public static GenerationJobProgress from(GenerationJob job) {
+        GenerationJobProgress progress = new GenerationJobProgress();
+        progress.setJobId(job.getId());
+        progress.setStatus(job.getStatus());
+        progress.setTotal(job.getTotal());
+        progress.setGenerated(job.getGenerated());
+        progress.setFailed(job.getFailed());
+        progress.setFailures(job.getFailures());
+        return progress;
+    }
+}
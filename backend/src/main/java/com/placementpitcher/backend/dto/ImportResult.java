@@ -0,0 +1,53 @@
+package com.placementpitcher.backend.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportResult {
+    private static final int MAX_ERRORS = 100;
+
+    private int saved; // Newly created contacts
+    private int updated;
+    private int unchanged;
+    private int skipped;
+    private int errored;
+    private List<ChunkResult> chunks = new ArrayList<>();
+    private List<RowError> errors = new ArrayList<>(); // First MAX_ERRORS only
+
+    public void addChunk(ChunkResult chunk) {
+        chunks.add(chunk);
+        saved += chunk.getInserted();
+        updated += chunk.getUpdated();
+        unchanged += chunk.getUnchanged();
+        skipped += chunk.getSkipped();
+        errored += chunk.getErrored();
+    }
+
+    public void addError(int rowNumber, String message) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RowError(rowNumber, message));
+        }
+    }
+
+    @Data
+    public static class ChunkResult {
+        private int chunk;
+        private int firstRow;
+        private int lastRow;
+        private int rows;
+        private int inserted;
+        private int updated; // Merge mode only
+        private int unchanged; // Merge mode only
+        private int skipped;
+        private int errored;
+    }
+
+    @Data
+    public static class RowError {
+        private final int rowNumber;
+        private final String message;
+    }
+}
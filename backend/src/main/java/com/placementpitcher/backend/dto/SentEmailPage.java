@@ -0,0 +1,12 @@
+package com.placementpitcher.backend.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class SentEmailPage {
+    private List<SentEmailSummaryDTO> items = new ArrayList<>();
+    private String nextCursor; // null on the last page
+}
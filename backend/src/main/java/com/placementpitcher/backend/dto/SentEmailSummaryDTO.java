@@ -10,4 +10,5 @@ public class SentEmailSummaryDTO {
     private LocalDateTime sentAt;
     private String contactCompany;
     private String contactEmail;
+    private String contactId;
 }
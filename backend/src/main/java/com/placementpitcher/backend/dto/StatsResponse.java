@@ -2,6 +2,9 @@ package com.placementpitcher.backend.dto;
 
 import lombok.Data;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 @Data
 public class StatsResponse {
     private long totalContacts;
@@ -9,4 +12,16 @@ public class StatsResponse {
     private long generated;
     private long sent;
     private long replies;
+    private Map<String, Long> byStatus = new TreeMap<>(); // Every status present, including unlisted ones
+
+    public static StatsResponse fromStatusCounts(Map<String, Long> counts) {
+        StatsResponse stats = new StatsResponse();
+        stats.getByStatus().putAll(counts);
+        stats.setTotalContacts(counts.values().stream().mapToLong(Long::longValue).sum());
+        stats.setPending(counts.getOrDefault("Pending", 0L));
+        stats.setGenerated(counts.getOrDefault("Generated", 0L));
+        stats.setSent(counts.getOrDefault("Sent", 0L));
+        stats.setReplies(counts.getOrDefault("Reply Received", 0L));
+        return stats;
+    }
 }
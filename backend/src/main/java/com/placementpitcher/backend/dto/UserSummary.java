@@ -0,0 +1,26 @@
+package com.placementpitcher.backend.dto;
+
+import com.placementpitcher.backend.model.User;
+import lombok.Data;
+
+// Team member as returned to clients; never carries the password hash or invitation token
+@Data
+public class UserSummary {
+    private String id;
+    private String email;
+    private String name;
+    private User.Role role;
+    private String teamId;
+    private boolean enabled;
+
+    public static UserSummary from(User user) {
+        UserSummary summary = new UserSummary();
+        summary.setId(user.getId());
+        summary.setEmail(user.getEmail());
+        summary.setName(user.getName());
+        summary.setRole(user.getRole());
+        summary.setTeamId(user.getTeamId());
+        summary.setEnabled(user.isEnabled());
+        return summary;
+    }
+}
@@ -0,0 +1,15 @@
+package com.placementpitcher.backend.exception;
+
+/**
+ * The model answered, but not with a usable draft. Unlike transport or quota
+ * failures this is not retried against the next model.
+ */
+public class MalformedAiResponseException extends RuntimeException {
+    public MalformedAiResponseException(String message) {
+        super(message);
+    }
+
+    public MalformedAiResponseException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,22 @@
+package com.placementpitcher.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+@Data
+@Document(collection = "ai_response_cache")
+public class CachedAiResponse {
+    @Id
+    private String id; // SHA-256 of the prompt
+    private String subject;
+    private String body;
+    private Date createdAt;
+
+    // TTL index: Mongo drops the entry once this time has passed
+    @Indexed(expireAfter = "0s")
+    private Date expiresAt;
+}
@@ -1,14 +1,46 @@
 package com.placementpitcher.backend.model;
 
+import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.query.Collation;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
 import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonView;
 
 @Data
 @Document(collection = "contacts")
+@CompoundIndexes({
+        // Cover the dashboard's group-by-status aggregation
+        @CompoundIndex(name = "team_status", def = "{'teamId': 1, 'status': 1}"),
+        @CompoundIndex(name = "assignee_status", def = "{'assignedToId': 1, 'status': 1}"),
+        // Let the activity rollup find contacts with new sends or replies
+        @CompoundIndex(name = "sent_at", def = "{'sentEmails.sentAt': 1}"),
+        @CompoundIndex(name = "reply_received_at", def = "{'replies.receivedAt': 1}"),
+        // Sent-mail feed, newest first
+        @CompoundIndex(name = "team_sent_at", def = "{'teamId': 1, 'sentEmails.sentAt': -1}"),
+        @CompoundIndex(name = "assignee_sent_at", def = "{'assignedToId': 1, 'sentEmails.sentAt': -1}"),
+        // Prefix search over the embedded term index
+        @CompoundIndex(name = "team_search", def = "{'teamId': 1, 'searchTerms': 1}"),
+        @CompoundIndex(name = "assignee_search", def = "{'assignedToId': 1, 'searchTerms': 1}"),
+        // Import duplicate checks match emails case-insensitively with EMAIL_COLLATION
+        @CompoundIndex(name = "team_email_ci", def = "{'teamId': 1, 'email': 1}",
+                collation = "{'locale': 'en', 'strength': 2}"),
+        // Delta sync walks changes in (updatedAt, _id) order
+        @CompoundIndex(name = "team_updated_at", def = "{'teamId': 1, 'updatedAt': 1, '_id': 1}"),
+        @CompoundIndex(name = "assignee_updated_at", def = "{'assignedToId': 1, 'updatedAt': 1, '_id': 1}")
+})
+@JsonView(ContactViews.Summary.class)
 public class Contact {
+    // Case-insensitive comparison for emails; queries must use it to hit team_email_ci
+    public static final Collation EMAIL_COLLATION = Collation.of("en")
+            .strength(Collation.ComparisonLevel.secondary());
+
     @Id
     private String id;
     @com.fasterxml.jackson.annotation.JsonIgnore
@@ -38,13 +70,32 @@ public class Contact {
     private String context;
     private Integer rowIndex;
 
+    // Latest AI draft, filled in by batch generation jobs
+    private String draftSubject;
+    @JsonView(ContactViews.Detail.class)
+    private String draftBody;
+    private LocalDateTime draftGeneratedAt;
+
     private String createdById;
     private String assignedToId;
+    @JsonView(ContactViews.Detail.class)
     private String teamId;
 
     @org.springframework.data.annotation.Transient
     private String assignedToName;
 
+    // Set by Mongo auditing on save; bulk updates set updatedAt themselves
+    @CreatedDate
+    private LocalDateTime createdAt;
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
     private List<SentEmail> sentEmails = new ArrayList<>();
     private List<EmailReply> replies = new ArrayList<>();
+
+    // Search index, rebuilt on every save by ContactSearchIndexer
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private List<String> searchTerms; // Every token in the contact, its emails and replies
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private List<String> searchKeys; // Tokens of company name, HR name and email; these rank higher
 }
@@ -0,0 +1,30 @@
+package com.placementpitcher.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of contacts in one (team, assignee, status) bucket, kept up to date with
+ * {@code $inc} as contacts move between statuses so the dashboard never has to
+ * count contacts.
+ */
+@Data
+@Document(collection = "contact_counters")
+@CompoundIndexes({
+        @CompoundIndex(name = "team_assignee_status", def = "{'teamId': 1, 'assignedToId': 1, 'status': 1}"),
+        @CompoundIndex(name = "assignee_status", def = "{'assignedToId': 1, 'status': 1}")
+})
+public class ContactCounter {
+    @Id
+    private String id; // teamId:assignedToId:status, see ContactCounterService.key
+    private String teamId;
+    private String assignedToId; // null for the unassigned pool
+    private String status;
+    private long count;
+    private LocalDateTime updatedAt;
+}
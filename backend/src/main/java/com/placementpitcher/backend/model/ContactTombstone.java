@@ -0,0 +1,37 @@
+package com.placementpitcher.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a contact that left a view: deleted outright, or reassigned away from a
+ * coordinator. Delta sync hands these out as removed ids. Kept for 30 days
+ * (see ContactChangesService.TOMBSTONE_RETENTION); older sync tokens get a full
+ * resync instead.
+ */
+@Data
+@Document(collection = "contact_tombstones")
+@CompoundIndexes({
+        @CompoundIndex(name = "team_removed_at", def = "{'teamId': 1, 'removedAt': 1}"),
+        @CompoundIndex(name = "assignee_removed_at", def = "{'assignedToId': 1, 'removedAt': 1}")
+})
+public class ContactTombstone {
+    @Id
+    private String id;
+    private String contactId;
+    private String teamId;
+    private String assignedToId; // Assignee whose view lost the contact
+    private Reason reason;
+    @Indexed(name = "removed_at_ttl", expireAfter = "30d")
+    private LocalDateTime removedAt;
+
+    public enum Reason {
+        DELETED, UNASSIGNED
+    }
+}
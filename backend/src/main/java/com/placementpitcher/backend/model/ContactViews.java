@@ -0,0 +1,18 @@
+package com.placementpitcher.backend.model;
+
+/**
+ * Jackson views for {@link Contact}. The list endpoint renders {@link Summary},
+ * which leaves out the team id and the full draft body; single-contact
+ * responses render {@link Detail}.
+ */
+public final class ContactViews {
+
+    private ContactViews() {
+    }
+
+    public interface Summary {
+    }
+
+    public interface Detail extends Summary {
+    }
+}
@@ -0,0 +1,36 @@
+package com.placementpitcher.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outreach activity of one coordinator on one day, built incrementally by
+ * {@link com.placementpitcher.backend.service.ActivityRollupService}.
+ */
+@Data
+@Document(collection = "daily_activity")
+@CompoundIndexes({
+        @CompoundIndex(name = "team_date", def = "{'teamId': 1, 'date': 1}"),
+        @CompoundIndex(name = "coordinator_date", def = "{'coordinatorId': 1, 'date': 1}")
+})
+public class DailyActivity {
+    @Id
+    private String id; // teamId:coordinatorId:date
+    private String teamId;
+    private String coordinatorId; // Assignee of the contacts; null for unassigned ones
+    private LocalDate date;
+
+    private long sent; // Emails sent
+    private long replies; // Replies received
+    private long contactsEmailed; // Contacts that got their first email this day
+    private long contactsReplied; // Contacts whose first reply arrived this day
+    // Minutes from first email to first reply, one entry per contactsReplied
+    private List<Long> firstReplyMinutes = new ArrayList<>();
+}
@@ -0,0 +1,39 @@
+package com.placementpitcher.backend.model;
+
+import com.placementpitcher.backend.dto.GeneratedEmail;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Document(collection = "draft_jobs")
+public class DraftJob {
+    @Id
+    private String id;
+    private String teamId;
+    private String createdById;
+    private String contactId;
+    private boolean regenerate;
+    private Status status;
+
+    private GeneratedEmail result;
+    private String error;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    // Finished jobs are only useful until the client picks them up; unset (so never
+    // expired) while the job is still queued or running
+    @Indexed(expireAfter = "7d")
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,46 @@
+package com.placementpitcher.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Document(collection = "generation_jobs")
+public class GenerationJob {
+    @Id
+    private String id;
+    private String teamId;
+    private String createdById;
+    private Status status;
+
+    private int total;
+    private int generated;
+    private int failed;
+
+    // Contacts still waiting for a draft. Shrinks as work completes so a restart
+    // only resumes what is left.
+    private List<String> pendingContactIds = new ArrayList<>();
+    private List<Failure> failures = new ArrayList<>();
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    @Data
+    public static class Failure {
+        private String contactId;
+        private String message;
+    }
+}
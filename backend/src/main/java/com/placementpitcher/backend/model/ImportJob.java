@@ -0,0 +1,52 @@
+package com.placementpitcher.backend.model;
+
+import com.placementpitcher.backend.dto.ImportResult;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Document(collection = "import_jobs")
+public class ImportJob {
+    @Id
+    private String id;
+    private String teamId;
+    private String createdById;
+    private Status status;
+
+    private String fileName;
+    private String contentType;
+    private String encoding;
+    private boolean merge; // Update existing contacts instead of skipping them
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private String spoolPath; // Upload copy on local disk, removed when the job ends
+
+    private int rowsRead;
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int skipped;
+    private int errored;
+    private List<ImportResult.RowError> errors = new ArrayList<>(); // Capped at 100
+
+    // Last row of the last committed chunk; a resumed job starts after it
+    private int checkpointRow;
+    private boolean cancelRequested;
+    private String failureReason;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+}
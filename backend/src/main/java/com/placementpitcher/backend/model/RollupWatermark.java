@@ -0,0 +1,20 @@
+package com.placementpitcher.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far a rollup job has processed its source data; everything at or before
+ * {@code processedUntil} is already reflected in the rollup.
+ */
+@Data
+@Document(collection = "rollup_watermarks")
+public class RollupWatermark {
+    @Id
+    private String id;
+    private LocalDateTime processedUntil;
+    private LocalDateTime updatedAt;
+}
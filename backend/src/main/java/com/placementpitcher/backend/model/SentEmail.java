@@ -1,9 +1,11 @@
 package com.placementpitcher.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import lombok.Data;
 import java.time.LocalDateTime;
 
 @Data
+@JsonView(ContactViews.Summary.class)
 public class SentEmail {
     private String subject;
     private String body;
@@ -3,12 +3,15 @@ package com.placementpitcher.backend.model;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.LocalDateTime;
+
 @Document(collection = "settings")
 public class Settings {
     @Id
     private String id;
     private PlacementStats placementStats;
     private String brochureUrl;
+    private LocalDateTime updatedAt;
 
     public Settings() {
     }
@@ -42,6 +45,14 @@ public class Settings {
         this.brochureUrl = brochureUrl;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public static class PlacementStats {
         private Integer totalStudents;
         private Integer placedInterns;
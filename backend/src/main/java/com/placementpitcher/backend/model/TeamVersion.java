@@ -0,0 +1,20 @@
+package com.placementpitcher.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change counter for everything a team can see. Bumped after every write to the
+ * team's contacts or users and handed out as the ETag of the list endpoints.
+ */
+@Data
+@Document(collection = "team_versions")
+public class TeamVersion {
+    @Id
+    private String teamId;
+    private long version;
+    private LocalDateTime updatedAt;
+}
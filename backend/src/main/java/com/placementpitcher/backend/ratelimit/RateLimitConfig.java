@@ -0,0 +1,54 @@
+package com.placementpitcher.backend.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitPolicy generateEmailRateLimit(
+            @Value("${ratelimit.generate-email.user-per-minute:10}") long userPerMinute,
+            @Value("${ratelimit.generate-email.team-per-minute:60}") long teamPerMinute,
+            @Value("${ratelimit.generate-email.burst:5}") int burst,
+            @Value("${ratelimit.generate-email.max-concurrent:16}") int maxConcurrent) {
+        return new RateLimitPolicy("generate-email",
+                Set.of("/api/generate-email", "/api/generate-email/stream", "/api/generate-email/jobs"),
+                userPerMinute, teamPerMinute, burst, maxConcurrent);
+    }
+
+    // Each batch can queue hundreds of drafts; the batch service paces the Gemini calls
+    // themselves, this only limits how often users can start new batches
+    @Bean
+    public RateLimitPolicy generationJobsRateLimit(
+            @Value("${ratelimit.generation-jobs.user-per-minute:2}") long userPerMinute,
+            @Value("${ratelimit.generation-jobs.team-per-minute:10}") long teamPerMinute,
+            @Value("${ratelimit.generation-jobs.burst:2}") int burst,
+            @Value("${ratelimit.generation-jobs.max-concurrent:4}") int maxConcurrent) {
+        return new RateLimitPolicy("generation-jobs", Set.of("/api/generation-jobs"),
+                userPerMinute, teamPerMinute, burst, maxConcurrent);
+    }
+
+    @Bean
+    public RateLimitPolicy sendEmailRateLimit(
+            @Value("${ratelimit.send-email.user-per-minute:20}") long userPerMinute,
+            @Value("${ratelimit.send-email.team-per-minute:120}") long teamPerMinute,
+            @Value("${ratelimit.send-email.burst:5}") int burst,
+            @Value("${ratelimit.send-email.max-concurrent:8}") int maxConcurrent) {
+        return new RateLimitPolicy("send-email", Set.of("/api/send-email"),
+                userPerMinute, teamPerMinute, burst, maxConcurrent);
+    }
+
+    @Bean
+    public RateLimitPolicy checkRepliesRateLimit(
+            @Value("${ratelimit.check-replies.user-per-minute:2}") long userPerMinute,
+            @Value("${ratelimit.check-replies.team-per-minute:6}") long teamPerMinute,
+            @Value("${ratelimit.check-replies.burst:1}") int burst,
+            @Value("${ratelimit.check-replies.max-concurrent:2}") int maxConcurrent) {
+        return new RateLimitPolicy("check-replies", Set.of("/api/check-replies"),
+                userPerMinute, teamPerMinute, burst, maxConcurrent);
+    }
+}
@@ -0,0 +1,144 @@
+package com.placementpitcher.backend.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placementpitcher.backend.dto.ErrorResponse;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Applies the {@link RateLimitPolicy} of the endpoint group a request belongs
+ * to. Runs right after JWT authentication so buckets can be keyed by the
+ * caller. Over-limit or over-capacity requests get 429 with Retry-After rather
+ * than queueing behind slow Gemini, Resend or IMAP calls.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    // Suggested back-off when the bulkhead is full; slots usually free up within seconds
+    private static final long BULKHEAD_RETRY_SECONDS = 1;
+
+    private final List<RateLimitPolicy> policies;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(List<RateLimitPolicy> policies, ObjectMapper objectMapper) {
+        this.policies = policies;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RateLimitPolicy policy = policyFor(request);
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (policy == null || auth == null || !(auth.getPrincipal() instanceof AuthenticatedUser user)) {
+            // Unauthenticated requests are rejected further down the chain
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = policy.tryAcquire(user);
+        if (waitNanos > 0) {
+            logger.debug("Rate limit hit on {} for user {}", policy.getName(), user.getId());
+            reject(response, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)),
+                    "Too many requests, please slow down");
+            return;
+        }
+
+        if (!policy.tryEnter()) {
+            logger.debug("Bulkhead full on {}", policy.getName());
+            reject(response, BULKHEAD_RETRY_SECONDS, "Server is busy, please retry shortly");
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                policy.exit();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streaming drafts keep the external call open after the filter
+                // returns, so hold the slot until the async request ends
+                request.getAsyncContext().addListener(new ReleasingListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private RateLimitPolicy policyFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitPolicy policy : policies) {
+            if (policy.matches(path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(status.value(), message, LocalDateTime.now()));
+    }
+
+    private record ReleasingListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-register so a re-dispatched request still releases its slot
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.placementpitcher.backend.ratelimit;
+
+import com.placementpitcher.backend.security.AuthenticatedUser;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits for one group of endpoints that call out to a slow or paid external
+ * service. Every user and every team gets its own token bucket, and a
+ * bulkhead caps how many requests of the group may be in flight at once.
+ */
+public class RateLimitPolicy {
+
+    private final String name;
+    private final Set<String> paths;
+    private final long userPerMinute;
+    private final long teamPerMinute;
+    private final int burst;
+    private final Semaphore inFlight;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitPolicy(String name, Set<String> paths, long userPerMinute, long teamPerMinute, int burst,
+            int maxConcurrent) {
+        this.name = name;
+        this.paths = Set.copyOf(paths);
+        this.userPerMinute = userPerMinute;
+        this.teamPerMinute = teamPerMinute;
+        this.burst = burst;
+        this.inFlight = new Semaphore(maxConcurrent);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean matches(String path) {
+        return paths.contains(path);
+    }
+
+    /**
+     * Takes a permit from the user's bucket and then from the team's.
+     *
+     * @return 0 when the request may proceed, otherwise the nanoseconds until
+     *         it would be allowed
+     */
+    public long tryAcquire(AuthenticatedUser user) {
+        // The user's own bucket goes first so a runaway client is turned away
+        // before it can drain the allowance its teammates share
+        long wait = buckets.computeIfAbsent("user:" + user.getId(),
+                k -> new TokenBucket(userPerMinute, burst)).tryAcquire();
+        if (wait > 0 || user.getTeamId() == null) {
+            return wait;
+        }
+        return buckets.computeIfAbsent("team:" + user.getTeamId(),
+                k -> new TokenBucket(teamPerMinute, burst)).tryAcquire();
+    }
+
+    public boolean tryEnter() {
+        return inFlight.tryAcquire();
+    }
+
+    public void exit() {
+        inFlight.release();
+    }
+}
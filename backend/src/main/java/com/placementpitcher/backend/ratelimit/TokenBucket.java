@@ -0,0 +1,53 @@
+package com.placementpitcher.backend.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of storing a token count it tracks the
+ * "theoretical arrival time" of the next token, so a single CAS on one long is
+ * enough to take a permit and compute how long a caller has to wait otherwise.
+ */
+public class TokenBucket {
+
+    private final long nanosPerPermit;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long permitsPerMinute, int burst) {
+        if (permitsPerMinute <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.nanosPerPermit = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+        this.burstNanos = nanosPerPermit * burst;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes a permit if one is available.
+     *
+     * @return 0 when the permit was granted, otherwise the nanoseconds to wait
+     *         before a permit becomes available
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + nanosPerPermit;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public void acquire() throws InterruptedException {
+        long wait;
+        while ((wait = tryAcquire()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
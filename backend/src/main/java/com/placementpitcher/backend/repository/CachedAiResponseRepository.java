@@ -0,0 +1,9 @@
+package com.placementpitcher.backend.repository;
+
+import com.placementpitcher.backend.model.CachedAiResponse;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CachedAiResponseRepository extends MongoRepository<CachedAiResponse, String> {
+}
@@ -14,13 +14,4 @@ public interface ContactRepository extends MongoRepository<Contact, String> {
     boolean existsByEmailAndTeamId(String email, String teamId);
 
     List<Contact> findAllByEmailContaining(String email);
-
-    // Stats counting
-    long countByTeamId(String teamId);
-
-    long countByTeamIdAndStatus(String teamId, String status);
-
-    long countByAssignedToId(String assignedToId);
-
-    long countByAssignedToIdAndStatus(String assignedToId, String status);
 }
@@ -0,0 +1,16 @@
+package com.placementpitcher.backend.repository;
+
+import com.placementpitcher.backend.model.DraftJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DraftJobRepository extends MongoRepository<DraftJob, String> {
+    Optional<DraftJob> findByIdAndTeamId(String id, String teamId);
+
+    List<DraftJob> findByStatusIn(Collection<DraftJob.Status> statuses);
+}
@@ -0,0 +1,16 @@
+package com.placementpitcher.backend.repository;
+
+import com.placementpitcher.backend.model.GenerationJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GenerationJobRepository extends MongoRepository<GenerationJob, String> {
+    Optional<GenerationJob> findByIdAndTeamId(String id, String teamId);
+
+    List<GenerationJob> findByStatusIn(Collection<GenerationJob.Status> statuses);
+}
@@ -0,0 +1,16 @@
+package com.placementpitcher.backend.repository;
+
+import com.placementpitcher.backend.model.ImportJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends MongoRepository<ImportJob, String> {
+    Optional<ImportJob> findByIdAndTeamId(String id, String teamId);
+
+    List<ImportJob> findByStatusIn(Collection<ImportJob.Status> statuses);
+}
@@ -0,0 +1,60 @@
+package com.placementpitcher.backend.security;
+
+import com.placementpitcher.backend.model.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The signed-in user as seen by controllers and services: everything they need
+ * to scope a request, so handlers can take it via {@code @AuthenticationPrincipal}
+ * instead of looking the user up again by email.
+ */
+@Getter
+public final class AuthenticatedUser implements UserDetails {
+
+    private final String id;
+    private final String email;
+    private final String name;
+    private final User.Role role;
+    private final String teamId;
+    private final boolean enabled;
+
+    private AuthenticatedUser(String id, String email, String name, User.Role role, String teamId,
+            boolean enabled) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.role = role;
+        this.teamId = teamId;
+        this.enabled = enabled;
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getName(), user.getRole(),
+                user.getTeamId(), user.isEnabled());
+    }
+
+    public boolean isCore() {
+        return role == User.Role.CORE;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role != null ? List.of(new SimpleGrantedAuthority("ROLE_" + role.name())) : List.of();
+    }
+
+    @Override
+    public String getPassword() {
+        return null; // Requests authenticate with a JWT; the hash never leaves CustomUserDetailsService
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -0,0 +1,69 @@
+package com.placementpitcher.backend.security;
+
+import com.placementpitcher.backend.model.User;
+import com.placementpitcher.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of {@link AuthenticatedUser}s by email, so an authenticated
+ * request normally costs no user query at all. Any save or delete of a user
+ * evicts their entry (deletes clear everything, as the event only carries the
+ * query), so role, team and enabled changes apply on the next request. The TTL
+ * bounds staleness for writes made by other instances.
+ */
+@Component
+public class AuthenticatedUserCache extends AbstractMongoEventListener<User> {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public AuthenticatedUserCache(UserRepository userRepository,
+            @Value("${security.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+    }
+
+    public AuthenticatedUser get(String email) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(email);
+        if (entry != null && now - entry.loadedAt < ttlNanos) {
+            return entry.user;
+        }
+
+        AuthenticatedUser user = AuthenticatedUser.from(userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email)));
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.clear();
+        }
+        entries.put(email, new Entry(user, now));
+        return user;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        User saved = event.getSource();
+        // Match on id too, in case the email itself changed
+        entries.entrySet().removeIf(e -> e.getKey().equals(saved.getEmail())
+                || e.getValue().user.getId().equals(saved.getId()));
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event) {
+        entries.clear();
+    }
+
+    private record Entry(AuthenticatedUser user, long loadedAt) {
+    }
+}
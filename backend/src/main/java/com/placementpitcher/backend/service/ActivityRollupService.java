@@ -0,0 +1,182 @@
+package com.placementpitcher.backend.service;
+
+import com.placementpitcher.backend.model.Contact;
+import com.placementpitcher.backend.model.DailyActivity;
+import com.placementpitcher.backend.model.EmailReply;
+import com.placementpitcher.backend.model.RollupWatermark;
+import com.placementpitcher.backend.model.SentEmail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Folds sent emails and replies into per-coordinator {@link DailyActivity}
+ * documents. Each run only reads contacts with a send or reply after the stored
+ * watermark (through the multikey indexes on {@code sentEmails.sentAt} and
+ * {@code replies.receivedAt}), so the cost is proportional to new activity, not
+ * to history.
+ * <p>
+ * The rollup write and the watermark move are separate writes; if the process
+ * dies in between, that window is counted twice on the next run.
+ */
+@Service
+public class ActivityRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityRollupService.class);
+    private static final String WATERMARK_ID = "daily_activity";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration lag;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public ActivityRollupService(MongoTemplate mongoTemplate,
+            @Value("${analytics.rollup.lag-seconds:120}") long lagSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.lag = Duration.ofSeconds(lagSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.rollup.interval-ms:300000}", initialDelay = 30000)
+    public void rollup() {
+        if (!runLock.tryLock()) {
+            return;
+        }
+        try {
+            RollupWatermark watermark = mongoTemplate.findById(WATERMARK_ID, RollupWatermark.class);
+            LocalDateTime from = watermark != null ? watermark.getProcessedUntil() : EPOCH;
+            // Stay a little behind now: sentAt/receivedAt are stamped before the contact is saved
+            LocalDateTime until = LocalDateTime.now().minus(lag);
+            if (!until.isAfter(from)) {
+                return;
+            }
+
+            int days = process(from, until);
+            mongoTemplate.upsert(Query.query(Criteria.where("id").is(WATERMARK_ID)),
+                    new Update().set("processedUntil", until).set("updatedAt", LocalDateTime.now()),
+                    RollupWatermark.class);
+            logger.debug("Activity rollup processed ({}, {}]: {} day buckets updated", from, until, days);
+        } catch (Exception e) {
+            logger.error("Activity rollup failed: {}", e.getMessage());
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private int process(LocalDateTime from, LocalDateTime until) {
+        Query query = Query.query(new Criteria().orOperator(
+                Criteria.where("sentEmails.sentAt").gt(from).lte(until),
+                Criteria.where("replies.receivedAt").gt(from).lte(until)));
+        query.fields().include("teamId", "assignedToId", "sentEmails.sentAt", "replies.receivedAt");
+        query.cursorBatchSize(500);
+
+        Map<String, Delta> deltas = new HashMap<>();
+        try (Stream<Contact> contacts = mongoTemplate.stream(query, Contact.class)) {
+            contacts.forEach(contact -> accumulate(contact, from, until, deltas));
+        }
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DailyActivity.class);
+        for (Map.Entry<String, Delta> entry : deltas.entrySet()) {
+            Delta delta = entry.getValue();
+            Update update = new Update()
+                    .inc("sent", delta.sent)
+                    .inc("replies", delta.replies)
+                    .inc("contactsEmailed", delta.contactsEmailed)
+                    .inc("contactsReplied", delta.contactsReplied)
+                    .setOnInsert("teamId", delta.teamId)
+                    .setOnInsert("coordinatorId", delta.coordinatorId)
+                    .setOnInsert("date", delta.date);
+            if (!delta.firstReplyMinutes.isEmpty()) {
+                update.push("firstReplyMinutes").each(delta.firstReplyMinutes.toArray());
+            }
+            bulk.upsert(Query.query(Criteria.where("id").is(entry.getKey())), update);
+        }
+        bulk.execute();
+        return deltas.size();
+    }
+
+    private void accumulate(Contact contact, LocalDateTime from, LocalDateTime until, Map<String, Delta> deltas) {
+        if (contact.getTeamId() == null) {
+            return;
+        }
+        List<LocalDateTime> sentTimes = contact.getSentEmails() == null ? List.of()
+                : contact.getSentEmails().stream().map(SentEmail::getSentAt).filter(Objects::nonNull).sorted()
+                        .toList();
+        List<LocalDateTime> replyTimes = contact.getReplies() == null ? List.of()
+                : contact.getReplies().stream().map(EmailReply::getReceivedAt).filter(Objects::nonNull).sorted()
+                        .toList();
+
+        for (LocalDateTime sentAt : sentTimes) {
+            if (inWindow(sentAt, from, until)) {
+                delta(deltas, contact, sentAt.toLocalDate()).sent++;
+            }
+        }
+        for (LocalDateTime receivedAt : replyTimes) {
+            if (inWindow(receivedAt, from, until)) {
+                delta(deltas, contact, receivedAt.toLocalDate()).replies++;
+            }
+        }
+
+        if (!sentTimes.isEmpty() && inWindow(sentTimes.get(0), from, until)) {
+            delta(deltas, contact, sentTimes.get(0).toLocalDate()).contactsEmailed++;
+        }
+        // First reply that answers an email we sent; earlier inbound mail doesn't count
+        replyTimes.stream()
+                .filter(receivedAt -> !sentTimes.isEmpty() && receivedAt.isAfter(sentTimes.get(0)))
+                .min(Comparator.naturalOrder())
+                .filter(firstReply -> inWindow(firstReply, from, until))
+                .ifPresent(firstReply -> {
+                    Delta delta = delta(deltas, contact, firstReply.toLocalDate());
+                    delta.contactsReplied++;
+                    delta.firstReplyMinutes.add(Duration.between(sentTimes.get(0), firstReply).toMinutes());
+                });
+    }
+
+    private static boolean inWindow(LocalDateTime time, LocalDateTime from, LocalDateTime until) {
+        return time.isAfter(from) && !time.isAfter(until);
+    }
+
+    private static Delta delta(Map<String, Delta> deltas, Contact contact, LocalDate date) {
+        String key = contact.getTeamId() + ":"
+                + (contact.getAssignedToId() != null ? contact.getAssignedToId() : "-") + ":" + date;
+        return deltas.computeIfAbsent(key, k -> new Delta(contact.getTeamId(), contact.getAssignedToId(), date));
+    }
+
+    private static class Delta {
+        final String teamId;
+        final String coordinatorId;
+        final LocalDate date;
+        long sent;
+        long replies;
+        long contactsEmailed;
+        long contactsReplied;
+        final List<Long> firstReplyMinutes = new ArrayList<>();
+
+        Delta(String teamId, String coordinatorId, LocalDate date) {
+            this.teamId = teamId;
+            this.coordinatorId = coordinatorId;
+            this.date = date;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.placementpitcher.backend.service;
+
+import com.placementpitcher.backend.dto.GeneratedEmail;
+import com.placementpitcher.backend.model.CachedAiResponse;
+import com.placementpitcher.backend.repository.CachedAiResponseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Caches generated drafts by a hash of the prompt so reopening a contact or
+ * clicking regenerate on an unchanged prompt does not pay for another Gemini
+ * call. The key leaves out the model: whichever model in the fallback chain
+ * answered, its draft is reused before any model is called again. Entries live
+ * in a bounded LRU in memory with an optional Mongo tier shared across
+ * restarts. Concurrent identical requests wait for the one call already in
+ * flight instead of starting their own.
+ */
+@Component
+public class AiResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AiResponseCache.class);
+
+    private final CachedAiResponseRepository repository;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final boolean mongoEnabled;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry> entries;
+    private final Map<String, CompletableFuture<GeneratedEmail>> inFlight = new ConcurrentHashMap<>();
+
+    public AiResponseCache(CachedAiResponseRepository repository,
+            @Value("${ai.cache.max-entries:500}") int maxEntries,
+            @Value("${ai.cache.ttl-minutes:60}") long ttlMinutes,
+            @Value("${ai.cache.mongo-enabled:false}") boolean mongoEnabled) {
+        this.repository = repository;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        this.mongoEnabled = mongoEnabled;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > AiResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached response for this prompt, or runs the loader.
+     * With {@code bypass} the cache is not read (the caller wants a new variant)
+     * but the fresh result still replaces the stored one.
+     */
+    public GeneratedEmail getOrLoad(String prompt, boolean bypass, Callable<GeneratedEmail> loader)
+            throws Exception {
+        String key = keyFor(prompt);
+
+        if (bypass) {
+            GeneratedEmail value = loader.call();
+            store(key, value);
+            return value;
+        }
+
+        GeneratedEmail cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<GeneratedEmail> future = new CompletableFuture<>();
+        CompletableFuture<GeneratedEmail> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            GeneratedEmail value = loader.call();
+            store(key, value);
+            future.complete(value);
+            return value;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #getOrLoad}: the loader starts the call and
+     * returns its future, which concurrent identical requests share.
+     */
+    public CompletableFuture<GeneratedEmail> getOrLoadAsync(String prompt, boolean bypass,
+            Supplier<CompletableFuture<GeneratedEmail>> loader) {
+        String key = keyFor(prompt);
+
+        if (bypass) {
+            return loader.get().thenApply(value -> {
+                store(key, value);
+                return value;
+            });
+        }
+
+        GeneratedEmail cached = lookup(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<GeneratedEmail> future = new CompletableFuture<>();
+        CompletableFuture<GeneratedEmail> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+
+        CompletableFuture<GeneratedEmail> call;
+        try {
+            call = loader.get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((value, error) -> {
+            if (error == null) {
+                store(key, value);
+                future.complete(value);
+            } else {
+                future.completeExceptionally(error);
+            }
+            inFlight.remove(key, future);
+        });
+        return future;
+    }
+
+    private GeneratedEmail lookup(String key) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() > now) {
+                    return entry.value();
+                }
+                entries.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!mongoEnabled) {
+            return null;
+        }
+        try {
+            CachedAiResponse persisted = repository.findById(key).orElse(null);
+            // The TTL monitor only runs once a minute, so check expiry ourselves too
+            if (persisted != null && persisted.getSubject() != null && persisted.getExpiresAt().getTime() > now) {
+                GeneratedEmail value = new GeneratedEmail(persisted.getSubject(), persisted.getBody());
+                putInMemory(key, value, persisted.getExpiresAt().getTime());
+                return value;
+            }
+        } catch (Exception e) {
+            logger.warn("AI response cache lookup failed: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void store(String key, GeneratedEmail value) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        putInMemory(key, value, expiresAt);
+
+        if (!mongoEnabled) {
+            return;
+        }
+        try {
+            CachedAiResponse persisted = new CachedAiResponse();
+            persisted.setId(key);
+            persisted.setSubject(value.subject());
+            persisted.setBody(value.body());
+            persisted.setCreatedAt(new Date());
+            persisted.setExpiresAt(new Date(expiresAt));
+            repository.save(persisted);
+        } catch (Exception e) {
+            logger.warn("Failed to persist AI response cache entry: {}", e.getMessage());
+        }
+    }
+
+    private void putInMemory(String key, GeneratedEmail value, long expiresAt) {
+        lock.lock();
+        try {
+            entries.put(key, new Entry(value, expiresAt));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private GeneratedEmail await(CompletableFuture<GeneratedEmail> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private String keyFor(String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(prompt.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(GeneratedEmail value, long expiresAt) {
+    }
+}
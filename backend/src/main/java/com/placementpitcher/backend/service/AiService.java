@@ -2,6 +2,8 @@ package com.placementpitcher.backend.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placementpitcher.backend.dto.GeneratedEmail;
+import com.placementpitcher.backend.exception.MalformedAiResponseException;
 import com.placementpitcher.backend.model.Contact;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -9,8 +11,21 @@ import org.springframework.web.client.RestClient;
 
 import java.util.List;
 import java.util.Map;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.net.URI;
 import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 
@@ -23,30 +38,79 @@ public class AiService {
     private String apiKey;
 
     private final RestClient restClient;
+    private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final com.placementpitcher.backend.repository.SettingsRepository settingsRepository;
+    private final AiResponseCache responseCache;
+    private final PromptBudgeter promptBudgeter;
+    private final long brochureTtlMillis;
+    // Extracted, budgeted brochure text for the current settings; one entry since there is one brochure
+    private final java.util.concurrent.locks.ReentrantLock brochureLock = new java.util.concurrent.locks.ReentrantLock();
+    private BrochureText brochureText;
     private static final String GEMINI_BASE_URL = "https://generativelanguage.googleapis.com/v1beta/models";
-
-    public AiService(RestClient.Builder restClientBuilder, ObjectMapper objectMapper,
-            com.placementpitcher.backend.repository.SettingsRepository settingsRepository) {
+    private static final Duration GEMINI_TIMEOUT = Duration.ofSeconds(60);
+
+    // Models to try in order
+    private static final List<String> MODELS = List.of(
+            "gemini-2.0-flash-exp",
+            "gemini-2.5-flash",
+            "gemini-2.0-flash",
+            "gemini-flash-latest",
+            "gemini-pro");
+
+    private static final Map<String, Object> EMAIL_SCHEMA = Map.of(
+            "type", "OBJECT",
+            "properties", Map.of(
+                    "subject", Map.of("type", "STRING"),
+                    "body", Map.of("type", "STRING")),
+            "required", List.of("subject", "body"),
+            "propertyOrdering", List.of("subject", "body"));
+
+    public AiService(RestClient.Builder restClientBuilder, HttpClient httpClient, ObjectMapper objectMapper,
+            com.placementpitcher.backend.repository.SettingsRepository settingsRepository,
+            AiResponseCache responseCache, PromptBudgeter promptBudgeter,
+            @Value("${ai.prompt.brochure-cache-minutes:10}") long brochureCacheMinutes) {
         this.restClient = restClientBuilder.build();
+        this.httpClient = httpClient;
         this.objectMapper = objectMapper;
         this.settingsRepository = settingsRepository;
+        this.responseCache = responseCache;
+        this.promptBudgeter = promptBudgeter;
+        this.brochureTtlMillis = Duration.ofMinutes(brochureCacheMinutes).toMillis();
+    }
+
+    private record BrochureText(String key, String text, long loadedAt) {
+    }
+
+    public GeneratedEmail generateEmail(Contact contact) {
+        return generateEmail(contact, false);
     }
 
-    public Map<String, String> generateEmail(Contact contact) {
-        // Models to try in order
-        // Models to try in order
-        List<String> models = List.of(
-                "gemini-2.0-flash-exp",
-                "gemini-2.5-flash",
-                "gemini-2.0-flash",
-                "gemini-flash-latest",
-                "gemini-pro");
+    /**
+     * @param bypassCache skip cached drafts for an identical prompt, e.g. when the
+     *                    user explicitly asks for a different variant
+     */
+    public GeneratedEmail generateEmail(Contact contact, boolean bypassCache) {
+        String prompt = buildPrompt(contact);
+        try {
+            return responseCache.getOrLoad(prompt, bypassCache, () -> generateWithFallback(prompt));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new com.placementpitcher.backend.exception.BusinessException(
+                    "All AI models failed to generate email. Please check your API key or try again later.", e);
+        }
+    }
 
-        for (String model : models) {
+    private GeneratedEmail generateWithFallback(String prompt) {
+        for (String model : MODELS) {
             try {
-                return callGemini(model, contact);
+                return callGemini(model, prompt);
+            } catch (MalformedAiResponseException e) {
+                // The model is up but produced garbage; another model would just cost more
+                logger.warn("Model {} returned a malformed draft: {}", model, e.getMessage());
+                throw new com.placementpitcher.backend.exception.BusinessException(
+                        "The AI returned an invalid draft. Please try again.", e);
             } catch (Exception e) {
                 logger.warn("Failed with model {}: {}", model, e.getMessage());
                 // Continue to next model
@@ -57,45 +121,182 @@ public class AiService {
 
     }
 
-    private Map<String, String> callGemini(String model, Contact contact) throws Exception {
+    /**
+     * Non-blocking {@link #generateEmail(Contact, boolean)}: the prompt is built
+     * on the calling thread from an already loaded {@link PromptContext}, then the
+     * Gemini call (and any model fallback) runs without holding a thread while
+     * the response is pending. Batches load the context once for all contacts.
+     */
+    public CompletableFuture<GeneratedEmail> generateEmailAsync(Contact contact, PromptContext context) {
+        String prompt = buildPrompt(contact, context);
+        return responseCache.getOrLoadAsync(prompt, false, () -> generateWithModel(prompt, 0));
+    }
+
+    private CompletableFuture<GeneratedEmail> generateWithModel(String prompt, int index) {
+        if (index >= MODELS.size()) {
+            return CompletableFuture.failedFuture(new com.placementpitcher.backend.exception.BusinessException(
+                    "All AI models failed to generate email. Please check your API key or try again later."));
+        }
+        String model = MODELS.get(index);
+        return callGeminiAsync(model, prompt)
+                .exceptionallyCompose(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    if (cause instanceof MalformedAiResponseException) {
+                        logger.warn("Model {} returned a malformed draft: {}", model, cause.getMessage());
+                        return CompletableFuture.failedFuture(
+                                new com.placementpitcher.backend.exception.BusinessException(
+                                        "The AI returned an invalid draft. Please try again.", cause));
+                    }
+                    logger.warn("Failed with model {}: {}", model, cause.getMessage());
+                    return generateWithModel(prompt, index + 1);
+                });
+    }
+
+    /**
+     * Streams a draft through {@code streamGenerateContent}, handing subject and
+     * body fragments to the listener as they arrive. Falls back to the next model
+     * only while nothing has been emitted yet; once the client has seen tokens a
+     * failure is reported instead of silently restarting with another model.
+     */
+    public GeneratedEmail streamEmail(Contact contact, StreamingDraftParser.Listener listener) {
         String prompt = buildPrompt(contact);
-        String url = GEMINI_BASE_URL + "/" + model + ":generateContent?key=" + apiKey;
+        boolean[] emitted = { false };
+        StreamingDraftParser.Listener tracking = (field, text) -> {
+            emitted[0] = true;
+            listener.onDelta(field, text);
+        };
 
-        // Gemini Request Body
-        Map<String, Object> requestBody = Map.of(
-                "contents", List.of(
-                        Map.of("parts", List.of(Map.of("text", prompt)))));
+        for (String model : MODELS) {
+            try {
+                StreamingDraftParser parser = new StreamingDraftParser(tracking);
+                streamGemini(model, prompt, parser);
+                if (!parser.isComplete()) {
+                    throw new IllegalStateException("Stream ended before the draft was complete");
+                }
+                String subject = parser.getSubject();
+                String body = parser.getBody();
+                if (subject == null || subject.isBlank() || body == null || body.isBlank()) {
+                    throw new MalformedAiResponseException("Draft is missing a subject or body");
+                }
+                return new GeneratedEmail(subject, body);
+            } catch (MalformedAiResponseException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.warn("Streaming failed with model {}: {}", model, e.getMessage());
+                if (emitted[0]) {
+                    throw new com.placementpitcher.backend.exception.BusinessException(
+                            "Draft generation was interrupted. Please try again.", e);
+                }
+            }
+        }
+        throw new com.placementpitcher.backend.exception.BusinessException(
+                "All AI models failed to generate email. Please check your API key or try again later.");
+    }
+
+    private void streamGemini(String model, String prompt, StreamingDraftParser parser) {
+        String url = GEMINI_BASE_URL + "/" + model + ":streamGenerateContent?alt=sse&key=" + apiKey;
 
-        String response = restClient.post()
+        restClient.post()
                 .uri(url)
-                .body(requestBody)
-                .retrieve()
-                .body(String.class);
-
-        JsonNode root = objectMapper.readTree(response);
-        String text = root.path("candidates").get(0).path("content").path("parts").get(0).path("text").asText();
-
-        // Expecting JSON from LLM (Prompt engineering handles this)
-        // Clean up markdown block if present ```json ... ```
-        if (text.contains("```json")) {
-            text = text.substring(text.indexOf("```json") + 7);
-            if (text.contains("```")) {
-                text = text.substring(0, text.indexOf("```"));
-            }
-        } else if (text.contains("```")) {
-            text = text.substring(text.indexOf("```") + 3);
-            if (text.contains("```")) {
-                text = text.substring(0, text.indexOf("```"));
-            }
+                .body(buildRequestBody(prompt))
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isError()) {
+                        throw new IllegalStateException("Gemini returned " + response.getStatusCode());
+                    }
+                    try (BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                        String line;
+                        // Each SSE event carries one GenerateContentResponse with the next text fragment
+                        while ((line = reader.readLine()) != null && !parser.isComplete()) {
+                            if (!line.startsWith("data:")) {
+                                continue;
+                            }
+                            JsonNode event = objectMapper.readTree(line.substring(5));
+                            JsonNode parts = event.path("candidates").path(0).path("content").path("parts");
+                            for (JsonNode part : parts) {
+                                parser.feed(part.path("text").asText(""));
+                            }
+                        }
+                    }
+                    return null;
+                });
+    }
+
+    private GeneratedEmail callGemini(String model, String prompt) {
+        String url = GEMINI_BASE_URL + "/" + model + ":generateContent?key=" + apiKey;
+
+        String text = restClient.post()
+                .uri(url)
+                .body(buildRequestBody(prompt))
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isError()) {
+                        throw new IllegalStateException("Gemini returned " + response.getStatusCode());
+                    }
+                    try (InputStream body = response.getBody()) {
+                        return GeminiResponseParser.extractText(objectMapper.getFactory(), body);
+                    }
+                });
+
+        if (text == null) {
+            throw new IllegalStateException("Gemini returned no candidates");
+        }
+        return GeminiResponseParser.parseEmail(objectMapper.getFactory(), text);
+    }
+
+    private CompletableFuture<GeneratedEmail> callGeminiAsync(String model, String prompt) {
+        String url = GEMINI_BASE_URL + "/" + model + ":generateContent?key=" + apiKey;
+
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(GEMINI_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(
+                            objectMapper.writeValueAsBytes(buildRequestBody(prompt))))
+                    .build();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
         }
 
-        return objectMapper.readValue(text, Map.class);
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() >= 400) {
+                        throw new IllegalStateException("Gemini returned " + response.statusCode());
+                    }
+                    String text;
+                    try {
+                        text = GeminiResponseParser.extractText(objectMapper.getFactory(),
+                                new ByteArrayInputStream(response.body()));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    if (text == null) {
+                        throw new IllegalStateException("Gemini returned no candidates");
+                    }
+                    return GeminiResponseParser.parseEmail(objectMapper.getFactory(), text);
+                });
     }
 
-    private String buildPrompt(Contact contact) {
-        String history = buildConversationHistory(contact);
+    // Structured output: Gemini returns bare JSON matching this schema, no markdown fences
+    private Map<String, Object> buildRequestBody(String prompt) {
+        return Map.of(
+                "contents", List.of(
+                        Map.of("parts", List.of(Map.of("text", prompt)))),
+                "generationConfig", Map.of(
+                        "responseMimeType", "application/json",
+                        "responseSchema", EMAIL_SCHEMA));
+    }
+
+    /**
+     * The settings-derived part of every prompt: placement stats and the brochure
+     * URL with its extracted text.
+     */
+    public record PromptContext(String stats, String brochure) {
+    }
 
-        // Fetch settings
+    public PromptContext loadPromptContext() {
         String stats = "";
         String brochure = "";
 
@@ -107,15 +308,23 @@ public class AiService {
             }
             if (s.getBrochureUrl() != null) {
                 brochure = s.getBrochureUrl();
-                // Try to fetch content
-                String content = fetchBrochureContent(brochure);
+                String content = brochureContent(brochure, s.getUpdatedAt());
                 if (!content.isEmpty()) {
                     brochure += "\n\n[EXTRACTED BROCHURE CONTENT]:\n" + content;
                 }
             }
         }
+        return new PromptContext(stats, brochure);
+    }
+
+    private String buildPrompt(Contact contact) {
+        return buildPrompt(contact, loadPromptContext());
+    }
 
-        return String.format(
+    private String buildPrompt(Contact contact, PromptContext context) {
+        String history = buildConversationHistory(contact);
+
+        String prompt = String.format(
                 """
                         You are a professional placement coordinator pitching a candidate or sending a collaboration request to a company.
 
@@ -140,43 +349,58 @@ public class AiService {
                         }
                         Do not include any other text.
                         """,
-                stats,
-                brochure,
+                context.stats(),
+                context.brochure(),
                 contact.getContext() != null ? contact.getContext() : "General placement collaboration inquiry",
                 contact.getCompanyName(),
                 contact.getHrName() != null ? contact.getHrName() : "Hiring Manager",
                 history);
+        promptBudgeter.recordPrompt(prompt);
+        return prompt;
     }
 
     private String buildConversationHistory(Contact contact) {
-        if ((contact.getSentEmails() == null || contact.getSentEmails().isEmpty()) &&
-                (contact.getReplies() == null || contact.getReplies().isEmpty())) {
-            return "No previous conversation.";
-        }
-
-        List<MessageItem> messages = new java.util.ArrayList<>();
+        List<PromptBudgeter.Turn> turns = new java.util.ArrayList<>();
 
         if (contact.getSentEmails() != null) {
             for (var email : contact.getSentEmails()) {
-                messages.add(new MessageItem("You", email.getBody(), email.getSentAt()));
+                turns.add(new PromptBudgeter.Turn("You", email.getBody(), email.getSentAt()));
             }
         }
 
         if (contact.getReplies() != null) {
             for (var reply : contact.getReplies()) {
-                messages.add(new MessageItem("Recipient", reply.getBody(), reply.getReceivedAt()));
+                turns.add(new PromptBudgeter.Turn("Recipient", reply.getBody(), reply.getReceivedAt()));
             }
         }
 
         // Sort by timestamp
-        messages.sort(java.util.Comparator.comparing(MessageItem::timestamp));
+        turns.sort(java.util.Comparator.comparing(PromptBudgeter.Turn::timestamp,
+                java.util.Comparator.nullsFirst(java.util.Comparator.naturalOrder())));
 
-        StringBuilder sb = new StringBuilder();
-        for (MessageItem msg : messages) {
-            sb.append("[").append(msg.sender()).append("]: ").append(msg.content()).append("\n\n");
-        }
+        return promptBudgeter.fitHistory(turns);
+    }
 
-        return sb.toString();
+    /**
+     * Extracted brochure text, downloaded and parsed at most once per settings
+     * change (or TTL, in case the PDF behind the URL changes). Concurrent callers
+     * wait for the download in progress rather than starting their own.
+     */
+    private String brochureContent(String url, java.time.LocalDateTime settingsUpdatedAt) {
+        String key = url + "@" + settingsUpdatedAt;
+        brochureLock.lock();
+        try {
+            BrochureText cached = brochureText;
+            if (cached != null && cached.key().equals(key)
+                    && System.currentTimeMillis() - cached.loadedAt() < brochureTtlMillis) {
+                return cached.text();
+            }
+            String text = promptBudgeter.fitBrochure(fetchBrochureContent(url));
+            brochureText = new BrochureText(key, text, System.currentTimeMillis());
+            return text;
+        } finally {
+            brochureLock.unlock();
+        }
     }
 
     private String fetchBrochureContent(String urlString) {
@@ -219,8 +443,4 @@ public class AiService {
             return "";
         }
     }
-
-    // Internal record for sorting
-    private record MessageItem(String sender, String content, java.time.LocalDateTime timestamp) {
-    }
 }
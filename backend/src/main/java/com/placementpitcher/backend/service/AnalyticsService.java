@@ -0,0 +1,115 @@
+package com.placementpitcher.backend.service;
+
+import com.placementpitcher.backend.dto.AnalyticsResponse;
+import com.placementpitcher.backend.exception.BusinessException;
+import com.placementpitcher.backend.model.DailyActivity;
+import com.placementpitcher.backend.model.User;
+import com.placementpitcher.backend.repository.UserRepository;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Trend queries over the {@link DailyActivity} rollups: at most one small
+ * document per coordinator per day is read, whatever the size of the history.
+ */
+@Service
+public class AnalyticsService {
+
+    private static final int DEFAULT_DAYS = 30;
+    private static final int MAX_DAYS = 366;
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+
+    public AnalyticsService(MongoTemplate mongoTemplate, UserRepository userRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.userRepository = userRepository;
+    }
+
+    public AnalyticsResponse getActivity(AuthenticatedUser user, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new BusinessException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_DAYS) {
+            throw new BusinessException("Date range is limited to " + MAX_DAYS + " days");
+        }
+
+        // Coordinators only see their own activity
+        Criteria criteria = user.getRole() == User.Role.CORE
+                ? Criteria.where("teamId").is(user.getTeamId())
+                : Criteria.where("coordinatorId").is(user.getId());
+        Query query = Query.query(criteria.and("date").gte(start).lte(end))
+                .with(Sort.by("date"));
+        List<DailyActivity> days = mongoTemplate.find(query, DailyActivity.class);
+
+        Map<String, String> userNames = userRepository.findByTeamId(user.getTeamId()).stream()
+                .filter(u -> u.getName() != null)
+                .collect(Collectors.toMap(User::getId, User::getName));
+
+        Map<String, List<DailyActivity>> byCoordinator = new LinkedHashMap<>();
+        for (DailyActivity day : days) {
+            byCoordinator.computeIfAbsent(day.getCoordinatorId() != null ? day.getCoordinatorId() : "",
+                    k -> new ArrayList<>()).add(day);
+        }
+
+        AnalyticsResponse response = new AnalyticsResponse();
+        response.setFrom(start);
+        response.setTo(end);
+        response.setTeam(summarize(days));
+        for (Map.Entry<String, List<DailyActivity>> entry : byCoordinator.entrySet()) {
+            String coordinatorId = entry.getKey().isEmpty() ? null : entry.getKey();
+            AnalyticsResponse.CoordinatorActivity activity = new AnalyticsResponse.CoordinatorActivity();
+            activity.setCoordinatorId(coordinatorId);
+            activity.setCoordinatorName(coordinatorId != null ? userNames.get(coordinatorId) : null);
+            activity.setSummary(summarize(entry.getValue()));
+            for (DailyActivity day : entry.getValue()) {
+                AnalyticsResponse.DayActivity point = new AnalyticsResponse.DayActivity();
+                point.setDate(day.getDate());
+                point.setSent(day.getSent());
+                point.setReplies(day.getReplies());
+                activity.getDaily().add(point);
+            }
+            response.getCoordinators().add(activity);
+        }
+        return response;
+    }
+
+    private AnalyticsResponse.Summary summarize(List<DailyActivity> days) {
+        AnalyticsResponse.Summary summary = new AnalyticsResponse.Summary();
+        List<Long> latencies = new ArrayList<>();
+        for (DailyActivity day : days) {
+            summary.setSent(summary.getSent() + day.getSent());
+            summary.setReplies(summary.getReplies() + day.getReplies());
+            summary.setContactsEmailed(summary.getContactsEmailed() + day.getContactsEmailed());
+            summary.setContactsReplied(summary.getContactsReplied() + day.getContactsReplied());
+            if (day.getFirstReplyMinutes() != null) {
+                latencies.addAll(day.getFirstReplyMinutes());
+            }
+        }
+        if (summary.getContactsEmailed() > 0) {
+            summary.setReplyRate((double) summary.getContactsReplied() / summary.getContactsEmailed());
+        }
+        if (!latencies.isEmpty()) {
+            latencies.sort(null);
+            int mid = latencies.size() / 2;
+            summary.setMedianMinutesToFirstReply(latencies.size() % 2 == 1
+                    ? latencies.get(mid)
+                    : (latencies.get(mid - 1) + latencies.get(mid)) / 2);
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,331 @@
+package com.placementpitcher.backend.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.placementpitcher.backend.concurrent.BoundedExecutors;
+import com.placementpitcher.backend.dto.BatchGenerateRequest;
+import com.placementpitcher.backend.dto.GeneratedEmail;
+import com.placementpitcher.backend.dto.GenerationJobProgress;
+import com.placementpitcher.backend.exception.BusinessException;
+import com.placementpitcher.backend.exception.ResourceNotFoundException;
+import com.placementpitcher.backend.model.Contact;
+import com.placementpitcher.backend.model.GenerationJob;
+import com.placementpitcher.backend.model.User;
+import com.placementpitcher.backend.ratelimit.TokenBucket;
+import com.placementpitcher.backend.repository.ContactRepository;
+import com.placementpitcher.backend.repository.GenerationJobRepository;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates drafts for many contacts in the background. Each job gets one
+ * dispatcher loop on a bounded executor that paces requests and starts
+ * non-blocking Gemini calls, so many calls can be in flight (up to a cap)
+ * without a thread each. Answers are saved on a separate executor as they
+ * arrive, so drafts, checkpoints and progress events never wait for the rest
+ * of the batch to be dispatched. Every team draws from its own token bucket so
+ * one large campaign cannot burn through the whole Gemini quota.
+ */
+@Service
+public class BatchGenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchGenerationService.class);
+
+    private final ContactRepository contactRepository;
+    private final GenerationJobRepository jobRepository;
+    private final MongoTemplate mongoTemplate;
+    private final AiService aiService;
+    private final ContactCounterService counterService;
+    private final TeamVersionService teamVersionService;
+    private final JobEventPublisher eventPublisher;
+
+    private final ExecutorService executor;
+    private final ExecutorService saveExecutor;
+    private final Semaphore inFlight;
+    private final long teamRequestsPerMinute;
+    private final int teamBurst;
+    private final Map<String, TokenBucket> teamBuckets = new ConcurrentHashMap<>();
+
+    public BatchGenerationService(ContactRepository contactRepository, GenerationJobRepository jobRepository,
+            MongoTemplate mongoTemplate, AiService aiService,
+            ContactCounterService counterService, TeamVersionService teamVersionService,
+            JobEventPublisher eventPublisher,
+            @Value("${ai.batch.concurrency:4}") int concurrency,
+            @Value("${ai.batch.save-concurrency:4}") int saveConcurrency,
+            @Value("${ai.batch.max-in-flight:64}") int maxInFlight,
+            @Value("${ai.batch.team-requests-per-minute:30}") long teamRequestsPerMinute,
+            @Value("${ai.batch.team-burst:5}") int teamBurst,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.contactRepository = contactRepository;
+        this.jobRepository = jobRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.aiService = aiService;
+        this.counterService = counterService;
+        this.teamVersionService = teamVersionService;
+        this.eventPublisher = eventPublisher;
+        this.teamRequestsPerMinute = teamRequestsPerMinute;
+        this.teamBurst = teamBurst;
+        this.executor = BoundedExecutors.create("batch-generation", concurrency, virtualThreads);
+        this.saveExecutor = BoundedExecutors.create("batch-generation-save", saveConcurrency, virtualThreads);
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    public GenerationJob submit(BatchGenerateRequest request, AuthenticatedUser user) {
+        List<String> contactIds = resolveContactIds(request, user);
+        if (contactIds.isEmpty()) {
+            throw new BusinessException("No contacts matched the batch generation request");
+        }
+
+        GenerationJob job = new GenerationJob();
+        job.setTeamId(user.getTeamId());
+        job.setCreatedById(user.getId());
+        job.setStatus(GenerationJob.Status.QUEUED);
+        job.setTotal(contactIds.size());
+        job.setPendingContactIds(new ArrayList<>(contactIds));
+        job.setCreatedAt(LocalDateTime.now());
+        job.setUpdatedAt(job.getCreatedAt());
+        job = jobRepository.save(job);
+
+        dispatch(job);
+        return job;
+    }
+
+    public GenerationJob getJob(String jobId, AuthenticatedUser user) {
+        GenerationJob job = jobRepository.findByIdAndTeamId(jobId, user.getTeamId())
+                .orElseThrow(() -> new ResourceNotFoundException("Generation job not found"));
+        // Coordinators only see the jobs they started
+        if (user.getRole() != User.Role.CORE && !user.getId().equals(job.getCreatedById())) {
+            throw new ResourceNotFoundException("Generation job not found");
+        }
+        return job;
+    }
+
+    public SseEmitter subscribe(String jobId, AuthenticatedUser user) {
+        getJob(jobId, user);
+        return eventPublisher.subscribe(jobId,
+                () -> jobRepository.findById(jobId).map(GenerationJobProgress::from).orElse(null),
+                progress -> progress.getStatus() == GenerationJob.Status.COMPLETED
+                        || progress.getStatus() == GenerationJob.Status.FAILED);
+    }
+
+    // Pick up jobs that were queued or half-way through when the process stopped
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<GenerationJob> unfinished = jobRepository.findByStatusIn(
+                List.of(GenerationJob.Status.QUEUED, GenerationJob.Status.RUNNING));
+        for (GenerationJob job : unfinished) {
+            logger.info("Resuming generation job {} with {} pending contacts", job.getId(),
+                    job.getPendingContactIds().size());
+            dispatch(job);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted tasks leave their contacts pending, so the job resumes on next start
+        executor.shutdownNow();
+        saveExecutor.shutdownNow();
+    }
+
+    private void dispatch(GenerationJob job) {
+        String jobId = job.getId();
+        List<String> pending = List.copyOf(job.getPendingContactIds());
+
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(jobId)),
+                new Update().set("status", GenerationJob.Status.RUNNING).set("updatedAt", LocalDateTime.now()),
+                GenerationJob.class);
+
+        if (pending.isEmpty()) {
+            finish(jobId);
+            return;
+        }
+
+        executor.execute(() -> dispatchAll(jobId, job.getTeamId(), pending));
+    }
+
+    // Starts the calls one by one as the team bucket and in-flight cap allow
+    private void dispatchAll(String jobId, String teamId, List<String> pending) {
+        AtomicInteger remaining = new AtomicInteger(pending.size());
+        // Settings and brochure text are the same for every contact: load them once per batch
+        AiService.PromptContext context;
+        try {
+            context = aiService.loadPromptContext();
+        } catch (Exception e) {
+            logger.warn("Could not load prompt settings for job {}: {}", jobId, e.getMessage());
+            pending.forEach(contactId -> recordResult(jobId, contactId, e.getMessage()));
+            finish(jobId);
+            return;
+        }
+        for (String contactId : pending) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            generateDraft(jobId, teamId, contactId, context).thenAccept(recorded -> {
+                if (recorded && remaining.decrementAndGet() == 0) {
+                    finish(jobId);
+                }
+            });
+        }
+    }
+
+    // Completes with false only when interrupted or shut down, leaving the contact pending for resume
+    private CompletableFuture<Boolean> generateDraft(String jobId, String teamId, String contactId,
+            AiService.PromptContext context) {
+        try {
+            bucketFor(teamId).acquire();
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(false);
+        }
+
+        CompletableFuture<GeneratedEmail> call;
+        try {
+            Contact contact = contactRepository.findById(contactId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Contact not found"));
+            call = aiService.generateEmailAsync(contact, context);
+        } catch (Exception e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+
+        // Free the in-flight slot as soon as Gemini answers; the save runs on its own executor
+        return call.whenComplete((draft, error) -> inFlight.release())
+                .thenAcceptAsync(draft -> saveDraft(contactId, teamId, draft), saveExecutor)
+                .handle((saved, error) -> {
+                    if (error == null) {
+                        recordResult(jobId, contactId, null);
+                    } else {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause()
+                                : error;
+                        if (cause instanceof RejectedExecutionException) {
+                            // Shutting down: the contact stays pending and the cached draft is reused on resume
+                            return false;
+                        }
+                        logger.warn("Draft generation failed for contact {} in job {}: {}", contactId, jobId,
+                                cause.getMessage());
+                        recordResult(jobId, contactId, cause.getMessage());
+                    }
+                    return true;
+                });
+    }
+
+    // Writes only the draft fields, so a send, reply or edit made while Gemini was busy is kept
+    private void saveDraft(String contactId, String teamId, GeneratedEmail draft) {
+        LocalDateTime now = LocalDateTime.now();
+        UpdateResult saved = mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(contactId)),
+                new Update()
+                        .set("draftSubject", draft.subject())
+                        .set("draftBody", draft.body())
+                        .set("draftGeneratedAt", now)
+                        .set("updatedAt", now),
+                Contact.class);
+        if (saved.getMatchedCount() == 0) {
+            throw new ResourceNotFoundException("Contact not found");
+        }
+
+        // Don't pull Sent / Reply Received contacts back to Generated for follow-up drafts
+        Query promotable = Query.query(Criteria.where("id").is(contactId).and("status").in(null, "Pending"));
+        promotable.fields().include("teamId", "assignedToId", "status");
+        Contact previous = mongoTemplate.findAndModify(promotable,
+                new Update().set("status", "Generated").set("updatedAt", now), Contact.class);
+        if (previous != null) {
+            String previousStatus = previous.getStatus();
+            previous.setStatus("Generated");
+            counterService.recordStatusChange(previous, previousStatus);
+        }
+        teamVersionService.bump(teamId);
+    }
+
+    private void recordResult(String jobId, String contactId, String error) {
+        Update update = new Update()
+                .pull("pendingContactIds", contactId)
+                .set("updatedAt", LocalDateTime.now());
+        if (error == null) {
+            update.inc("generated", 1);
+        } else {
+            GenerationJob.Failure failure = new GenerationJob.Failure();
+            failure.setContactId(contactId);
+            failure.setMessage(error);
+            update.inc("failed", 1).push("failures", failure);
+        }
+
+        GenerationJob job = mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(jobId)), update,
+                FindAndModifyOptions.options().returnNew(true), GenerationJob.class);
+        if (job != null) {
+            GenerationJobProgress progress = GenerationJobProgress.from(job);
+            progress.setLastContactId(contactId);
+            eventPublisher.publish(jobId, progress);
+        }
+    }
+
+    private void finish(String jobId) {
+        GenerationJob job = mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(jobId)),
+                new Update()
+                        .set("status", GenerationJob.Status.COMPLETED)
+                        .set("finishedAt", LocalDateTime.now())
+                        .set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true), GenerationJob.class);
+        if (job != null) {
+            logger.info("Generation job {} finished: {} generated, {} failed", jobId, job.getGenerated(),
+                    job.getFailed());
+            eventPublisher.complete(jobId, GenerationJobProgress.from(job));
+        }
+    }
+
+    private List<String> resolveContactIds(BatchGenerateRequest request, AuthenticatedUser user) {
+        Criteria criteria;
+        if (user.getRole() == User.Role.CORE) {
+            criteria = Criteria.where("teamId").is(user.getTeamId());
+            if (request.getAssignedToId() != null && !request.getAssignedToId().isEmpty()) {
+                criteria.and("assignedToId").is(request.getAssignedToId());
+            }
+        } else {
+            // Coordinators can only batch their own contacts
+            criteria = Criteria.where("assignedToId").is(user.getId());
+        }
+
+        boolean hasIds = request.getContactIds() != null && !request.getContactIds().isEmpty();
+        if (hasIds) {
+            criteria.and("id").in(request.getContactIds());
+        }
+        if (request.getStatus() != null && !request.getStatus().isEmpty()) {
+            criteria.and("status").is(request.getStatus());
+        } else if (!hasIds) {
+            criteria.and("status").is("Pending");
+        }
+
+        Query query = Query.query(criteria);
+        query.fields().include("id");
+        return mongoTemplate.find(query, Contact.class).stream()
+                .map(Contact::getId)
+                .toList();
+    }
+
+    private TokenBucket bucketFor(String teamId) {
+        return teamBuckets.computeIfAbsent(teamId, k -> new TokenBucket(teamRequestsPerMinute, teamBurst));
+    }
+}
@@ -0,0 +1,221 @@
+package com.placementpitcher.backend.service;
+
+import com.placementpitcher.backend.dto.ContactChanges;
+import com.placementpitcher.backend.exception.BusinessException;
+import com.placementpitcher.backend.model.Contact;
+import com.placementpitcher.backend.model.ContactTombstone;
+import com.placementpitcher.backend.model.User;
+import com.placementpitcher.backend.repository.UserRepository;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync for the contact list. Clients hold a sync token and get back only
+ * the contacts created or updated since then (by {@code updatedAt}, with the id
+ * as tie-breaker) plus the ids of contacts that left their view.
+ *
+ * Once caught up the next token is pinned a little in the past
+ * ({@code contacts.changes.overlap-ms}), so a write stamped just before the
+ * query but committed just after it is still picked up. Clients will see a few
+ * contacts twice, which is harmless since items are upserts.
+ */
+@Service
+public class ContactChangesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactChangesService.class);
+
+    // Keep in step with the TTL index on ContactTombstone.removedAt
+    static final Duration TOMBSTONE_RETENTION = Duration.ofDays(30);
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+    private final int pageSize;
+    private final Duration overlap;
+
+    public ContactChangesService(MongoTemplate mongoTemplate, UserRepository userRepository,
+            @Value("${contacts.changes.page-size:1000}") int pageSize,
+            @Value("${contacts.changes.overlap-ms:5000}") long overlapMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.userRepository = userRepository;
+        this.pageSize = pageSize;
+        this.overlap = Duration.ofMillis(overlapMs);
+    }
+
+    public void recordDeleted(Contact contact) {
+        saveTombstone(contact.getId(), contact.getTeamId(), contact.getAssignedToId(),
+                ContactTombstone.Reason.DELETED);
+    }
+
+    // The previous assignee's list no longer includes the contact
+    public void recordUnassigned(Contact contact, String previousAssigneeId) {
+        if (previousAssigneeId == null || previousAssigneeId.equals(contact.getAssignedToId())) {
+            return;
+        }
+        saveTombstone(contact.getId(), contact.getTeamId(), previousAssigneeId,
+                ContactTombstone.Reason.UNASSIGNED);
+    }
+
+    public ContactChanges getChanges(AuthenticatedUser user, String since) {
+        LocalDateTime now = LocalDateTime.now();
+        SyncToken token = since != null && !since.isBlank() ? SyncToken.decode(since) : null;
+
+        ContactChanges changes = new ContactChanges();
+        // Only point-in-time tokens can go stale; has_more pages of a full sync walk
+        // contacts in updatedAt order and carry old timestamps by design
+        boolean expired = token != null && token.contactId() == null
+                && token.changedAt().isBefore(now.minus(TOMBSTONE_RETENTION));
+        if (token == null || expired) {
+            // First sync, or removals may already have expired: start over from scratch
+            changes.setReset(true);
+            token = SyncToken.FROM_START;
+        } else {
+            changes.setRemovedIds(removedSince(user, token.changedAt()));
+        }
+
+        List<Contact> contacts = mongoTemplate.find(changedAfter(user, token), Contact.class);
+        if (contacts.size() > pageSize) {
+            contacts = contacts.subList(0, pageSize);
+            Contact last = contacts.get(contacts.size() - 1);
+            changes.setHasMore(true);
+            changes.setNextSince(new SyncToken(last.getUpdatedAt(), last.getId()).encode());
+        } else {
+            changes.setNextSince(new SyncToken(now.minus(overlap), null).encode());
+        }
+
+        fillAssigneeNames(contacts, user);
+        changes.setItems(contacts);
+        return changes;
+    }
+
+    /**
+     * Stamps contacts saved before auditing existed so they show up in a full
+     * sync and have a position in the change order.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            long stamped = mongoTemplate.updateMulti(Query.query(Criteria.where("updatedAt").exists(false)),
+                    new Update().set("updatedAt", LocalDateTime.now()), Contact.class).getModifiedCount();
+            if (stamped > 0) {
+                logger.info("Stamped updatedAt on {} contacts", stamped);
+            }
+        } catch (Exception e) {
+            logger.error("updatedAt backfill failed: {}", e.getMessage());
+        }
+    }
+
+    private Query changedAfter(AuthenticatedUser user, SyncToken token) {
+        Criteria criteria = visibleTo(user);
+        if (token.contactId() == null) {
+            criteria.and("updatedAt").gte(token.changedAt());
+        } else {
+            criteria.orOperator(
+                    Criteria.where("updatedAt").gt(token.changedAt()),
+                    Criteria.where("updatedAt").is(token.changedAt()).and("id").gt(token.contactId()));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Order.asc("updatedAt"), Sort.Order.asc("id")))
+                .limit(pageSize + 1);
+        query.fields().exclude("searchTerms", "searchKeys");
+        return query;
+    }
+
+    private List<String> removedSince(AuthenticatedUser user, LocalDateTime since) {
+        Criteria criteria;
+        if (user.getRole() == User.Role.CORE) {
+            // Reassignment keeps the contact in the team, so only deletions matter here
+            criteria = Criteria.where("teamId").is(user.getTeamId())
+                    .and("reason").is(ContactTombstone.Reason.DELETED);
+        } else {
+            criteria = Criteria.where("assignedToId").is(user.getId());
+        }
+        Query query = Query.query(criteria.and("removedAt").gte(since));
+        query.fields().include("contactId");
+        Set<String> ids = new LinkedHashSet<>();
+        for (ContactTombstone tombstone : mongoTemplate.find(query, ContactTombstone.class)) {
+            ids.add(tombstone.getContactId());
+        }
+        return List.copyOf(ids);
+    }
+
+    private Criteria visibleTo(AuthenticatedUser user) {
+        return user.getRole() == User.Role.CORE
+                ? Criteria.where("teamId").is(user.getTeamId())
+                : Criteria.where("assignedToId").is(user.getId());
+    }
+
+    private void fillAssigneeNames(List<Contact> contacts, AuthenticatedUser user) {
+        if (user.getRole() != User.Role.CORE) {
+            contacts.forEach(contact -> contact.setAssignedToName(user.getName()));
+            return;
+        }
+        if (contacts.isEmpty()) {
+            return;
+        }
+        Map<String, String> userNames = userRepository.findByTeamId(user.getTeamId()).stream()
+                .filter(member -> member.getName() != null)
+                .collect(Collectors.toMap(User::getId, User::getName));
+        for (Contact contact : contacts) {
+            if (contact.getAssignedToId() != null) {
+                contact.setAssignedToName(userNames.get(contact.getAssignedToId()));
+            }
+        }
+    }
+
+    private void saveTombstone(String contactId, String teamId, String assignedToId,
+            ContactTombstone.Reason reason) {
+        ContactTombstone tombstone = new ContactTombstone();
+        tombstone.setContactId(contactId);
+        tombstone.setTeamId(teamId);
+        tombstone.setAssignedToId(assignedToId);
+        tombstone.setReason(reason);
+        tombstone.setRemovedAt(LocalDateTime.now());
+        mongoTemplate.insert(tombstone);
+    }
+
+    // contactId is null for a plain point in time, otherwise the last contact already returned at changedAt
+    private record SyncToken(LocalDateTime changedAt, String contactId) {
+
+        static final SyncToken FROM_START = new SyncToken(LocalDateTime.ofInstant(Instant.EPOCH,
+                ZoneId.systemDefault()), null);
+
+        String encode() {
+            long millis = changedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            String raw = contactId != null ? millis + ":" + contactId : String.valueOf(millis);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static SyncToken decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+                LocalDateTime changedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(parts[0])),
+                        ZoneId.systemDefault());
+                return new SyncToken(changedAt, parts.length > 1 ? parts[1] : null);
+            } catch (RuntimeException e) {
+                throw new BusinessException("Invalid sync token");
+            }
+        }
+    }
+}
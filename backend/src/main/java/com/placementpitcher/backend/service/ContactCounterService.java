@@ -0,0 +1,201 @@
+package com.placementpitcher.backend.service;
+
+import com.mongodb.client.result.DeleteResult;
+import com.placementpitcher.backend.model.Contact;
+import com.placementpitcher.backend.model.ContactCounter;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Maintains the {@code contact_counters} collection: one document per (team,
+ * assignee, status) holding how many contacts are in it. Every write path that
+ * creates, deletes, reassigns or changes the status of a contact reports it here
+ * and the counters move with a single upserted {@code $inc}. A scheduled
+ * reconciliation recounts from the contacts themselves to repair any drift, e.g.
+ * from a crash between the contact write and the counter update.
+ */
+@Service
+public class ContactCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactCounterService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final TeamVersionService teamVersionService;
+
+    public ContactCounterService(MongoTemplate mongoTemplate, TeamVersionService teamVersionService) {
+        this.mongoTemplate = mongoTemplate;
+        this.teamVersionService = teamVersionService;
+    }
+
+    public void recordCreated(Contact contact) {
+        recordCreated(contact.getTeamId(), contact.getAssignedToId(), contact.getStatus(), 1);
+    }
+
+    public void recordCreated(String teamId, String assignedToId, String status, long count) {
+        increment(teamId, assignedToId, status, count);
+    }
+
+    public void recordDeleted(Contact contact) {
+        increment(contact.getTeamId(), contact.getAssignedToId(), contact.getStatus(), -1);
+    }
+
+    public void recordStatusChange(Contact contact, String previousStatus) {
+        if (Objects.equals(statusKey(previousStatus), statusKey(contact.getStatus()))) {
+            return;
+        }
+        increment(contact.getTeamId(), contact.getAssignedToId(), previousStatus, -1);
+        increment(contact.getTeamId(), contact.getAssignedToId(), contact.getStatus(), 1);
+    }
+
+    public void recordReassigned(Contact contact, String previousAssignedToId) {
+        if (Objects.equals(previousAssignedToId, contact.getAssignedToId())) {
+            return;
+        }
+        increment(contact.getTeamId(), previousAssignedToId, contact.getStatus(), -1);
+        increment(contact.getTeamId(), contact.getAssignedToId(), contact.getStatus(), 1);
+    }
+
+    /**
+     * Status counts across the whole team; reads one small document per
+     * (assignee, status) rather than anything proportional to the contact count.
+     */
+    public Map<String, Long> countsForTeam(String teamId) {
+        return sumByStatus(Query.query(Criteria.where("teamId").is(teamId)));
+    }
+
+    public Map<String, Long> countsForAssignee(String assignedToId) {
+        return sumByStatus(Query.query(Criteria.where("assignedToId").is(assignedToId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        // Seeds the counters on first start and catches up on anything missed while down
+        reconcile();
+    }
+
+    /**
+     * Recounts every bucket from the contacts and overwrites the stored counts.
+     * An increment landing between the recount and the overwrite can be lost; the
+     * next run picks it up. Teams whose counts were corrected get their version
+     * bumped so cached stats are revalidated.
+     */
+    @Scheduled(fixedDelayString = "${stats.counters.reconcile-interval-ms:900000}",
+            initialDelayString = "${stats.counters.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        try {
+            Aggregation aggregation = Aggregation.newAggregation(
+                    Aggregation.project("teamId", "assignedToId", "status").andExclude("_id"),
+                    Aggregation.group("teamId", "assignedToId", "status").count().as("count"))
+                    .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+            Map<String, ContactCounter> stored = new HashMap<>();
+            for (ContactCounter counter : mongoTemplate.findAll(ContactCounter.class)) {
+                stored.put(counter.getId(), counter);
+            }
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ContactCounter.class);
+            Set<String> liveKeys = new HashSet<>();
+            Set<String> changedTeams = new HashSet<>();
+            LocalDateTime now = LocalDateTime.now();
+
+            for (Document row : mongoTemplate.aggregate(aggregation, Contact.class, Document.class)) {
+                Document group = row.get("_id", Document.class);
+                String teamId = group.getString("teamId");
+                if (teamId == null) {
+                    continue;
+                }
+                String assignedToId = group.getString("assignedToId");
+                String status = statusKey(group.getString("status"));
+                String key = key(teamId, assignedToId, status);
+                liveKeys.add(key);
+                long count = ((Number) row.get("count")).longValue();
+
+                ContactCounter previous = stored.remove(key);
+                if (previous == null || previous.getCount() != count) {
+                    changedTeams.add(teamId);
+                }
+                bulk.upsert(byKey(key), new Update()
+                        .set("teamId", teamId)
+                        .set("assignedToId", assignedToId)
+                        .set("status", status)
+                        .set("count", count)
+                        .set("updatedAt", now));
+            }
+            if (!liveKeys.isEmpty()) {
+                bulk.execute();
+            }
+
+            // Buckets that no longer have any contacts
+            DeleteResult removed = mongoTemplate.remove(
+                    Query.query(Criteria.where("id").nin(liveKeys)), ContactCounter.class);
+            for (ContactCounter stale : stored.values()) {
+                if (stale.getCount() != 0 && stale.getTeamId() != null) {
+                    changedTeams.add(stale.getTeamId());
+                }
+            }
+
+            changedTeams.forEach(teamVersionService::bump);
+            logger.debug("Reconciled {} contact counters, removed {}, corrected {} teams",
+                    liveKeys.size(), removed.getDeletedCount(), changedTeams.size());
+        } catch (Exception e) {
+            logger.error("Contact counter reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    private void increment(String teamId, String assignedToId, String status, long delta) {
+        if (teamId == null || delta == 0) {
+            return;
+        }
+        String statusKey = statusKey(status);
+        mongoTemplate.upsert(byKey(key(teamId, assignedToId, statusKey)),
+                new Update()
+                        .inc("count", delta)
+                        .set("updatedAt", LocalDateTime.now())
+                        .setOnInsert("teamId", teamId)
+                        .setOnInsert("assignedToId", assignedToId)
+                        .setOnInsert("status", statusKey),
+                ContactCounter.class);
+    }
+
+    private Map<String, Long> sumByStatus(Query query) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (ContactCounter counter : mongoTemplate.find(query, ContactCounter.class)) {
+            if (counter.getCount() > 0) {
+                counts.merge(counter.getStatus(), counter.getCount(), Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static Query byKey(String key) {
+        return Query.query(Criteria.where("id").is(key));
+    }
+
+    private static String key(String teamId, String assignedToId, String status) {
+        return teamId + ":" + (assignedToId != null ? assignedToId : "-") + ":" + status;
+    }
+
+    private static String statusKey(String status) {
+        return status != null ? status : ContactStatsService.UNKNOWN_STATUS;
+    }
+}
@@ -0,0 +1,227 @@
+package com.placementpitcher.backend.service;
+
+import com.placementpitcher.backend.model.Contact;
+import com.placementpitcher.backend.model.EmailReply;
+import com.placementpitcher.backend.model.SentEmail;
+import com.placementpitcher.backend.model.User;
+import com.placementpitcher.backend.repository.UserRepository;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's contacts to CSV or XLSX. Contacts are read through a Mongo
+ * cursor (email bodies are projected out) and written row by row, so neither the
+ * query result nor the spreadsheet is ever held in memory as a whole.
+ */
+@Service
+public class ContactExportService {
+
+    private static final int XLSX_ROW_WINDOW = 100;
+    private static final int CSV_BUFFER_SIZE = 64 * 1024;
+    // Phone-number-like values: a sign, then digits with spaces, dots, dashes, slashes or parentheses
+    private static final Pattern NUMERIC = Pattern.compile("[+-]?[0-9][0-9 ()./-]*");
+
+    // Header names match the import columns so an export can be re-imported as is
+    private static final List<String> BASE_COLUMNS = List.of(
+            "Company Name", "HR Name", "Email", "Phone", "LinkedIn", "Context", "Status", "Assigned To");
+    private static final List<String> STATUS_COLUMNS = List.of(
+            "Emails Sent", "Last Sent At", "Last Sent Subject", "Replies", "Last Reply At");
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+
+    public ContactExportService(MongoTemplate mongoTemplate, UserRepository userRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Everything needed to write the export, resolved up front while the security
+     * context is still available on the request thread.
+     */
+    public record ExportRequest(Query query, Map<String, String> userNames, boolean includeStatus) {
+    }
+
+    public ExportRequest prepare(AuthenticatedUser user, String assignedToId, boolean includeStatus) {
+        Criteria criteria;
+        if (user.getRole() == User.Role.CORE) {
+            criteria = Criteria.where("teamId").is(user.getTeamId());
+            if (assignedToId != null && !assignedToId.isEmpty()) {
+                criteria.and("assignedToId").is(assignedToId);
+            }
+        } else {
+            criteria = Criteria.where("assignedToId").is(user.getId());
+        }
+
+        Query query = Query.query(criteria);
+        query.fields().include("companyName", "legacyCompanyName", "hrName", "email", "phone", "linkedIn",
+                "context", "status", "assignedToId");
+        if (includeStatus) {
+            query.fields().include("sentEmails.sentAt", "sentEmails.subject", "replies.receivedAt");
+        }
+        query.cursorBatchSize(500);
+
+        Map<String, String> userNames = userRepository.findByTeamId(user.getTeamId()).stream()
+                .filter(u -> u.getName() != null)
+                .collect(Collectors.toMap(User::getId, User::getName));
+
+        return new ExportRequest(query, userNames, includeStatus);
+    }
+
+    public void writeCsv(ExportRequest request, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+        writer.write('\uFEFF'); // BOM so Excel picks UTF-8
+        writeCsvLine(writer, columns(request));
+
+        try (Stream<Contact> contacts = mongoTemplate.stream(request.query(), Contact.class)) {
+            for (Contact contact : (Iterable<Contact>) contacts::iterator) {
+                writeCsvLine(writer, values(contact, request).stream().map(this::formatValue).toList());
+            }
+        }
+        writer.flush();
+    }
+
+    public void writeXlsx(ExportRequest request, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Contacts");
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm"));
+
+            List<String> columns = columns(request);
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < columns.size(); i++) {
+                header.createCell(i).setCellValue(columns.get(i));
+            }
+
+            int rowNum = 1;
+            try (Stream<Contact> contacts = mongoTemplate.stream(request.query(), Contact.class)) {
+                for (Contact contact : (Iterable<Contact>) contacts::iterator) {
+                    Row row = sheet.createRow(rowNum++);
+                    List<Object> values = values(contact, request);
+                    for (int i = 0; i < values.size(); i++) {
+                        Object value = values.get(i);
+                        if (value == null) {
+                            continue;
+                        }
+                        Cell cell = row.createCell(i);
+                        if (value instanceof LocalDateTime dateTime) {
+                            cell.setCellValue(dateTime);
+                            cell.setCellStyle(dateStyle);
+                        } else if (value instanceof Number number) {
+                            cell.setCellValue(number.doubleValue());
+                        } else {
+                            cell.setCellValue(value.toString());
+                        }
+                    }
+                }
+            }
+
+            workbook.write(out);
+        } finally {
+            workbook.dispose(); // Remove the temp files backing flushed rows
+            workbook.close();
+        }
+    }
+
+    private List<String> columns(ExportRequest request) {
+        List<String> columns = new ArrayList<>(BASE_COLUMNS);
+        if (request.includeStatus()) {
+            columns.addAll(STATUS_COLUMNS);
+        }
+        return columns;
+    }
+
+    private List<Object> values(Contact contact, ExportRequest request) {
+        List<Object> values = new ArrayList<>();
+        values.add(contact.getCompanyName());
+        values.add(contact.getHrName());
+        values.add(contact.getEmail());
+        values.add(contact.getPhone());
+        values.add(contact.getLinkedIn());
+        values.add(contact.getContext());
+        values.add(contact.getStatus());
+        values.add(contact.getAssignedToId() != null ? request.userNames().get(contact.getAssignedToId()) : null);
+
+        if (request.includeStatus()) {
+            List<SentEmail> sent = contact.getSentEmails() != null ? contact.getSentEmails() : List.of();
+            List<EmailReply> replies = contact.getReplies() != null ? contact.getReplies() : List.of();
+            SentEmail lastSent = sent.stream()
+                    .filter(e -> e.getSentAt() != null)
+                    .max(Comparator.comparing(SentEmail::getSentAt))
+                    .orElse(null);
+            LocalDateTime lastReplyAt = replies.stream()
+                    .map(EmailReply::getReceivedAt)
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder())
+                    .orElse(null);
+
+            values.add(sent.size());
+            values.add(lastSent != null ? lastSent.getSentAt() : null);
+            values.add(lastSent != null ? lastSent.getSubject() : null);
+            values.add(replies.size());
+            values.add(lastReplyAt);
+        }
+        return values;
+    }
+
+    private String formatValue(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private void writeCsvLine(Writer writer, List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvField(writer, fields.get(i));
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value.isEmpty()) {
+            return;
+        }
+        // Neutralize spreadsheet formulas in user-entered text. Numbers such as
+        // "+91 98765 43210" can't carry a formula and stay as they are.
+        char first = value.charAt(0);
+        if ((first == '=' || first == '+' || first == '-' || first == '@') && !NUMERIC.matcher(value).matches()) {
+            value = "'" + value;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
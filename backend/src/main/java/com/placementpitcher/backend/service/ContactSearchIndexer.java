@@ -0,0 +1,96 @@
+package com.placementpitcher.backend.service;
+
+import com.placementpitcher.backend.model.Contact;
+import com.placementpitcher.backend.model.EmailReply;
+import com.placementpitcher.backend.model.SentEmail;
+import org.springframework.core.Ordered;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Keeps {@link Contact#getSearchTerms()} / {@link Contact#getSearchKeys()} in step
+ * with the contact: runs before every entity save or insert, including bulk
+ * inserts. Writes that go through a raw {@code Update} have to call
+ * {@link ContactSearchService#reindex} themselves.
+ */
+@Component
+public class ContactSearchIndexer implements BeforeConvertCallback<Contact>, Ordered {
+
+    static final int MIN_TERM_LENGTH = 2;
+    static final int MAX_TERM_LENGTH = 32;
+    private static final int MAX_TERMS = 2000; // Keeps the index entries per contact bounded
+
+    @Override
+    public Contact onBeforeConvert(Contact contact, String collection) {
+        index(contact);
+        return contact;
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    static void index(Contact contact) {
+        Set<String> keys = new LinkedHashSet<>();
+        addTokens(keys, contact.getCompanyName());
+        addTokens(keys, contact.getHrName());
+        addTokens(keys, contact.getEmail());
+        if (contact.getEmail() != null && !contact.getEmail().isBlank()) {
+            keys.add(contact.getEmail().trim().toLowerCase(Locale.ROOT));
+        }
+
+        Set<String> terms = new LinkedHashSet<>(keys);
+        addTokens(terms, contact.getContext());
+        if (contact.getSentEmails() != null) {
+            for (SentEmail sent : contact.getSentEmails()) {
+                addTokens(terms, sent.getSubject());
+                addTokens(terms, sent.getBody());
+            }
+        }
+        if (contact.getReplies() != null) {
+            for (EmailReply reply : contact.getReplies()) {
+                addTokens(terms, reply.getSubject());
+                addTokens(terms, reply.getBody());
+            }
+        }
+
+        contact.setSearchKeys(new ArrayList<>(keys));
+        contact.setSearchTerms(new ArrayList<>(terms).subList(0, Math.min(terms.size(), MAX_TERMS)));
+    }
+
+    /**
+     * Lower-cased runs of letters and digits; the same rules apply to documents and
+     * queries so prefixes line up.
+     */
+    static List<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        addTokens(tokens, text);
+        return new ArrayList<>(tokens);
+    }
+
+    private static void addTokens(Set<String> tokens, String text) {
+        if (text == null || text.isEmpty() || tokens.size() >= MAX_TERMS) {
+            return;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+                continue;
+            }
+            if (current.length() >= MIN_TERM_LENGTH) {
+                tokens.add(current.length() > MAX_TERM_LENGTH
+                        ? current.substring(0, MAX_TERM_LENGTH) : current.toString());
+            }
+            current.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.placementpitcher.backend.service;
+
+import com.placementpitcher.backend.dto.ContactSearchResponse;
+import com.placementpitcher.backend.model.Contact;
+import com.placementpitcher.backend.model.User;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Prefix search over the embedded term index that {@link ContactSearchIndexer}
+ * maintains. Every query token must prefix-match some term; anchored prefixes on
+ * the {scope, searchTerms} index keep the candidate set small. Hits are ranked
+ * higher when a token matches the company name, HR name or email rather than only
+ * notes or mail, and higher again on a whole-word match.
+ */
+@Service
+public class ContactSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactSearchService.class);
+    private static final int MAX_QUERY_TOKENS = 5;
+    private static final int DEFAULT_SIZE = 20;
+    private static final int MAX_SIZE = 100;
+    private static final int REINDEX_BATCH = 500;
+    private static final Document SEARCH_KEYS = new Document("$ifNull", List.of("$searchKeys", List.of()));
+
+    private final MongoTemplate mongoTemplate;
+
+    public ContactSearchService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public ContactSearchResponse search(AuthenticatedUser user, String text, Integer page, Integer size) {
+        int pageNumber = page == null ? 0 : Math.max(0, page);
+        int pageSize = size == null ? DEFAULT_SIZE : Math.max(1, Math.min(size, MAX_SIZE));
+
+        ContactSearchResponse response = new ContactSearchResponse();
+        response.setPage(pageNumber);
+        response.setSize(pageSize);
+
+        List<String> tokens = ContactSearchIndexer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return response;
+        }
+        tokens = tokens.subList(0, Math.min(tokens.size(), MAX_QUERY_TOKENS));
+
+        Document match = user.getRole() == User.Role.CORE
+                ? new Document("teamId", user.getTeamId())
+                : new Document("assignedToId", user.getId());
+        List<Document> allTokens = new ArrayList<>();
+        List<Object> score = new ArrayList<>();
+        for (String token : tokens) {
+            String prefix = "^" + token; // Tokens are letters and digits only, nothing to escape
+            allTokens.add(new Document("searchTerms", new Document("$regex", prefix)));
+            score.add(new Document("$cond", List.of(keyMatches(prefix), 3, 1)));
+            score.add(new Document("$cond", List.of(new Document("$in", List.of(token, SEARCH_KEYS)), 2, 0)));
+        }
+        match.append("$and", allTokens);
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                stage("$match", match),
+                stage("$addFields", new Document("score", new Document("$add", score))),
+                stage("$sort", new Document("score", -1).append("_id", -1)),
+                stage("$skip", (long) pageNumber * pageSize),
+                stage("$limit", pageSize + 1),
+                stage("$project", new Document("searchTerms", 0)
+                        .append("searchKeys", 0)
+                        .append("score", 0)
+                        .append("sentEmails.body", 0)
+                        .append("replies.body", 0)));
+
+        List<Contact> hits = mongoTemplate.aggregate(aggregation, "contacts", Contact.class).getMappedResults();
+        response.setHasMore(hits.size() > pageSize);
+        response.setItems(new ArrayList<>(hits.subList(0, Math.min(hits.size(), pageSize))));
+        return response;
+    }
+
+    /**
+     * Rebuilds the term index of contacts changed through a raw {@code Update},
+     * which bypasses {@link ContactSearchIndexer}.
+     */
+    public void reindex(String teamId, Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        reindex(Query.query(Criteria.where("teamId").is(teamId).and("email").in(emails))
+                .collation(Contact.EMAIL_COLLATION));
+    }
+
+    /**
+     * Backfills contacts saved before search existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int indexed = reindex(Query.query(Criteria.where("searchTerms").exists(false)));
+            if (indexed > 0) {
+                logger.info("Built search terms for {} contacts", indexed);
+            }
+        } catch (Exception e) {
+            logger.error("Search term backfill failed: {}", e.getMessage());
+        }
+    }
+
+    private int reindex(Query query) {
+        int count = 0;
+        BulkOperations bulk = null;
+        int pending = 0;
+        try (Stream<Contact> contacts = mongoTemplate.stream(query.cursorBatchSize(REINDEX_BATCH), Contact.class)) {
+            for (Contact contact : (Iterable<Contact>) contacts::iterator) {
+                ContactSearchIndexer.index(contact);
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Contact.class);
+                }
+                bulk.updateOne(Query.query(Criteria.where("id").is(contact.getId())), new Update()
+                        .set("searchTerms", contact.getSearchTerms())
+                        .set("searchKeys", contact.getSearchKeys()));
+                count++;
+                if (++pending == REINDEX_BATCH) {
+                    bulk.execute();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+        }
+        if (bulk != null) {
+            bulk.execute();
+        }
+        return count;
+    }
+
+    private static Document keyMatches(String prefix) {
+        Document anyKey = new Document("$filter", new Document("input", SEARCH_KEYS)
+                .append("as", "key")
+                .append("cond", new Document("$regexMatch",
+                        new Document("input", "$$key").append("regex", prefix))));
+        return new Document("$gt", List.of(new Document("$size", anyKey), 0));
+    }
+
+    private static AggregationOperation stage(String name, Object spec) {
+        return context -> new Document(name, spec);
+    }
+}
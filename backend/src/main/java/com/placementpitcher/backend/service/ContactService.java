@@ -4,7 +4,7 @@ import com.placementpitcher.backend.model.Contact;
 import com.placementpitcher.backend.model.User;
 import com.placementpitcher.backend.repository.ContactRepository;
 import com.placementpitcher.backend.repository.UserRepository;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import com.placementpitcher.backend.security.AuthenticatedUser;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -16,16 +16,23 @@ public class ContactService {
     private final ContactRepository contactRepository;
     private final UserRepository userRepository;
     private final com.placementpitcher.backend.service.EmailSendingService emailSendingService;
+    private final ContactCounterService counterService;
+    private final TeamVersionService teamVersionService;
+    private final ContactChangesService changesService;
 
     public ContactService(ContactRepository contactRepository, UserRepository userRepository,
-            com.placementpitcher.backend.service.EmailSendingService emailSendingService) {
+            com.placementpitcher.backend.service.EmailSendingService emailSendingService,
+            ContactCounterService counterService, TeamVersionService teamVersionService,
+            ContactChangesService changesService) {
         this.contactRepository = contactRepository;
         this.userRepository = userRepository;
         this.emailSendingService = emailSendingService;
+        this.counterService = counterService;
+        this.teamVersionService = teamVersionService;
+        this.changesService = changesService;
     }
 
-    public List<Contact> getContactsForUser(String email) {
-        User user = getUser(email);
+    public List<Contact> getContactsForUser(AuthenticatedUser user) {
 
         if (user.getRole() == User.Role.CORE) {
             // Core sees ALL contacts in their team
@@ -71,8 +78,7 @@ public class ContactService {
         }
     }
 
-    public Contact createContact(Contact contact, String creatorEmail) {
-        User creator = getUser(creatorEmail);
+    public Contact createContact(Contact contact, AuthenticatedUser creator) {
 
         // Set contextual fields
         contact.setCreatedById(creator.getId());
@@ -96,16 +102,19 @@ public class ContactService {
             throw new IllegalArgumentException("Contact with this email already exists in your team.");
         }
 
-        return contactRepository.save(contact);
+        Contact saved = contactRepository.save(contact);
+        counterService.recordCreated(saved);
+        teamVersionService.bump(saved.getTeamId());
+        return saved;
     }
 
-    public Contact updateContact(String id, Contact updatedContact, String userEmail) {
+    public Contact updateContact(String id, Contact updatedContact, AuthenticatedUser user) {
         Contact existing = contactRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Contact not found"));
 
         // Security Check: Can this user edit this contact?
-        User user = getUser(userEmail);
         verifyAccess(existing, user);
+        String previousStatus = existing.getStatus();
 
         // Update fields allowed to be edited
         // Update fields allowed to be edited - ONLY if provided (Partial Update logic)
@@ -132,25 +141,25 @@ public class ContactService {
             existing.setStatus(updatedContact.getStatus());
         }
 
-        return contactRepository.save(existing);
+        Contact saved = contactRepository.save(existing);
+        counterService.recordStatusChange(saved, previousStatus);
+        teamVersionService.bump(saved.getTeamId());
+        return saved;
     }
 
-    public void deleteContact(String id, String userEmail) {
+    public void deleteContact(String id, AuthenticatedUser user) {
         Contact existing = contactRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Contact not found"));
 
-        User user = getUser(userEmail);
         verifyAccess(existing, user);
 
         contactRepository.delete(existing);
+        counterService.recordDeleted(existing);
+        changesService.recordDeleted(existing);
+        teamVersionService.bump(existing.getTeamId());
     }
 
-    private User getUser(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-    }
-
-    private void verifyAccess(Contact contact, User user) {
+    private void verifyAccess(Contact contact, AuthenticatedUser user) {
         // Core can access anything in team
         if (user.getRole() == User.Role.CORE) {
             if (!contact.getTeamId().equals(user.getTeamId())) {
@@ -164,8 +173,7 @@ public class ContactService {
         }
     }
 
-    public void assignContacts(String targetUserId, List<String> contactIds, String currentUserEmail) {
-        User currentUser = getUser(currentUserEmail);
+    public void assignContacts(String targetUserId, List<String> contactIds, AuthenticatedUser currentUser) {
         User targetUser = userRepository.findById(targetUserId)
                 .orElseThrow(() -> new RuntimeException("Target user not found"));
 
@@ -176,16 +184,23 @@ public class ContactService {
 
         // 2. Fetch Contacts & Validate Ownership
         List<Contact> contacts = contactRepository.findAllById(contactIds);
+        java.util.Map<String, String> previousAssignees = new java.util.HashMap<>();
         for (Contact contact : contacts) {
             if (!contact.getTeamId().equals(currentUser.getTeamId())) {
                 throw new SecurityException("Access Denied: Attempting to assign contact from another team");
             }
+            previousAssignees.put(contact.getId(), contact.getAssignedToId());
             contact.setAssignedToId(targetUser.getId());
         }
 
         // 3. Bulk Save
         // 3. Bulk Save
         contactRepository.saveAll(contacts);
+        for (Contact contact : contacts) {
+            counterService.recordReassigned(contact, previousAssignees.get(contact.getId()));
+            changesService.recordUnassigned(contact, previousAssignees.get(contact.getId()));
+        }
+        teamVersionService.bump(currentUser.getTeamId());
 
         // 4. Send Email Notification
         try {
@@ -0,0 +1,28 @@
+package com.placementpitcher.backend.service;
+
+import com.placementpitcher.backend.dto.StatsResponse;
+import com.placementpitcher.backend.model.User;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ContactStatsService {
+
+    static final String UNKNOWN_STATUS = "Unknown";
+
+    private final ContactCounterService counterService;
+
+    public ContactStatsService(ContactCounterService counterService) {
+        this.counterService = counterService;
+    }
+
+    /**
+     * Served from the materialized counters, so the cost doesn't grow with the
+     * number of contacts.
+     */
+    public StatsResponse getStats(AuthenticatedUser user) {
+        return StatsResponse.fromStatusCounts(user.getRole() == User.Role.CORE
+                ? counterService.countsForTeam(user.getTeamId())
+                : counterService.countsForAssignee(user.getId()));
+    }
+}
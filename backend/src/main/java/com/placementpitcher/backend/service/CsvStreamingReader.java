@@ -0,0 +1,206 @@
+package com.placementpitcher.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Single-pass CSV/TSV reader. Characters are decoded into one reusable buffer
+ * and scanned by a small state machine, so there is no per-line String or split
+ * array; a String is only created for fields under a known header. Handles RFC
+ * 4180 quoting (embedded delimiters, newlines and doubled quotes), CR, LF and
+ * CRLF line endings, and picks the charset from a byte order mark when there is
+ * one. The first record is the header row. Rows are numbered by the physical
+ * line they start on, so error reports point at the right place in the file
+ * even with blank lines or quoted line breaks.
+ */
+public final class CsvStreamingReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CsvStreamingReader() {
+    }
+
+    public static void read(InputStream in, char delimiter, Charset fallbackCharset, int chunkSize,
+            Consumer<List<ImportRow>> chunkConsumer) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(in, 3);
+        Charset charset = detectCharset(pushback, fallbackCharset);
+        try (Reader reader = new InputStreamReader(pushback, charset)) {
+            new Parser(delimiter, chunkSize, chunkConsumer).parse(reader);
+        }
+    }
+
+    // Consumes a UTF-8/UTF-16 byte order mark if present, otherwise leaves the stream untouched
+    private static Charset detectCharset(PushbackInputStream in, Charset fallback) throws IOException {
+        byte[] bom = new byte[3];
+        int read = in.readNBytes(bom, 0, 3);
+        if (read >= 3 && (bom[0] & 0xFF) == 0xEF && (bom[1] & 0xFF) == 0xBB && (bom[2] & 0xFF) == 0xBF) {
+            return StandardCharsets.UTF_8;
+        }
+        if (read >= 2 && (bom[0] & 0xFF) == 0xFF && (bom[1] & 0xFF) == 0xFE) {
+            in.unread(bom, 2, read - 2);
+            return StandardCharsets.UTF_16LE;
+        }
+        if (read >= 2 && (bom[0] & 0xFF) == 0xFE && (bom[1] & 0xFF) == 0xFF) {
+            in.unread(bom, 2, read - 2);
+            return StandardCharsets.UTF_16BE;
+        }
+        if (read > 0) {
+            in.unread(bom, 0, read);
+        }
+        return fallback;
+    }
+
+    private static class Parser {
+
+        private final char delimiter;
+        private final int chunkSize;
+        private final Consumer<List<ImportRow>> chunkConsumer;
+
+        private final StringBuilder field = new StringBuilder();
+        private final List<String> record = new ArrayList<>();
+        private List<ImportRow> chunk;
+        private String[] headers;
+        private int line = 1;
+        private int recordStartLine;
+        private boolean recordStarted;
+        private boolean lastWasCarriageReturn;
+
+        private boolean inQuotes;
+        private boolean quotePending; // Saw a quote inside a quoted field: closing or escaped?
+        private boolean fieldQuoted;
+
+        Parser(char delimiter, int chunkSize, Consumer<List<ImportRow>> chunkConsumer) {
+            this.delimiter = delimiter;
+            this.chunkSize = chunkSize;
+            this.chunkConsumer = chunkConsumer;
+            this.chunk = new ArrayList<>(chunkSize);
+        }
+
+        void parse(Reader reader) throws IOException {
+            char[] buffer = new char[BUFFER_SIZE];
+            int n;
+            while ((n = reader.read(buffer)) != -1) {
+                for (int i = 0; i < n; i++) {
+                    accept(buffer[i]);
+                }
+            }
+            if (field.length() > 0 || !record.isEmpty() || fieldQuoted) {
+                endRecord();
+            }
+            if (!chunk.isEmpty()) {
+                chunkConsumer.accept(chunk);
+            }
+        }
+
+        private void accept(char c) {
+            // The LF of a CRLF belongs to the line break before it
+            boolean crlf = c == '\n' && lastWasCarriageReturn;
+            lastWasCarriageReturn = c == '\r';
+            if (!recordStarted && !crlf) {
+                recordStarted = true;
+                recordStartLine = line;
+            }
+            if (c == '\r' || (c == '\n' && !crlf)) {
+                line++;
+            }
+
+            if (inQuotes) {
+                if (quotePending) {
+                    quotePending = false;
+                    if (c == '"') {
+                        field.append('"');
+                        return;
+                    }
+                    inQuotes = false; // That quote closed the field; handle c below
+                } else if (c == '"') {
+                    quotePending = true;
+                    return;
+                } else {
+                    field.append(c);
+                    return;
+                }
+            }
+
+            if (crlf) {
+                return;
+            }
+
+            if (c == delimiter) {
+                endField();
+            } else if (c == '\r') {
+                endRecord();
+            } else if (c == '\n') {
+                endRecord();
+            } else if (c == '"' && field.length() == 0 && !fieldQuoted) {
+                inQuotes = true;
+                fieldQuoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+
+        private void endField() {
+            int column = record.size();
+            // Only columns with a header are materialized
+            if (headers == null || (column < headers.length && headers[column] != null)) {
+                // Whitespace inside quotes is part of the value
+                record.add(unguard(fieldQuoted ? field.toString() : field.toString().trim()));
+            } else {
+                record.add(null);
+            }
+            field.setLength(0);
+            fieldQuoted = false;
+        }
+
+        // Undo the ' that contact exports put before a leading =, +, - or @ to stop formulas
+        private static String unguard(String value) {
+            if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0) {
+                return value.substring(1);
+            }
+            return value;
+        }
+
+        private void endRecord() {
+            endField();
+            recordStarted = false;
+            if (record.size() == 1 && (record.get(0) == null || record.get(0).isEmpty())) {
+                record.clear(); // Blank line
+                return;
+            }
+
+            if (headers == null) {
+                headers = new String[record.size()];
+                for (int i = 0; i < record.size(); i++) {
+                    String header = record.get(i);
+                    headers[i] = header == null || header.isEmpty() ? null : ImportRow.normalizeHeader(header);
+                }
+            } else {
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < record.size() && i < headers.length; i++) {
+                    String value = record.get(i);
+                    if (headers[i] != null && value != null && !value.isEmpty()) {
+                        values.put(headers[i], value);
+                    }
+                }
+                if (!values.isEmpty()) {
+                    chunk.add(new ImportRow(recordStartLine, values));
+                    if (chunk.size() >= chunkSize) {
+                        chunkConsumer.accept(chunk);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+            }
+            record.clear();
+        }
+    }
+}
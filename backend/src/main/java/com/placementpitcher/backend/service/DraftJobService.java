@@ -0,0 +1,148 @@
+package com.placementpitcher.backend.service;
+
+import com.placementpitcher.backend.concurrent.BoundedExecutors;
+import com.placementpitcher.backend.dto.GenerateEmailRequest;
+import com.placementpitcher.backend.dto.GeneratedEmail;
+import com.placementpitcher.backend.exception.ResourceNotFoundException;
+import com.placementpitcher.backend.model.Contact;
+import com.placementpitcher.backend.model.DraftJob;
+import com.placementpitcher.backend.model.User;
+import com.placementpitcher.backend.repository.ContactRepository;
+import com.placementpitcher.backend.repository.DraftJobRepository;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs single-draft generation off the request thread. The POST returns as soon
+ * as the job is stored; the Gemini fallback loop then runs on a dedicated pool
+ * and the outcome is written back to the job for polling or SSE.
+ */
+@Service
+public class DraftJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DraftJobService.class);
+
+    private final DraftJobRepository jobRepository;
+    private final ContactRepository contactRepository;
+    private final AiService aiService;
+    private final JobEventPublisher eventPublisher;
+    private final ExecutorService executor;
+
+    public DraftJobService(DraftJobRepository jobRepository, ContactRepository contactRepository,
+            AiService aiService, JobEventPublisher eventPublisher,
+            @Value("${ai.jobs.concurrency:8}") int concurrency,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.jobRepository = jobRepository;
+        this.contactRepository = contactRepository;
+        this.aiService = aiService;
+        this.eventPublisher = eventPublisher;
+        this.executor = BoundedExecutors.create("draft-job", concurrency, virtualThreads);
+    }
+
+    public DraftJob submit(GenerateEmailRequest request, AuthenticatedUser user) {
+        Contact contact = contactRepository.findById(request.getContactId())
+                .orElseThrow(() -> new ResourceNotFoundException("Contact not found"));
+        verifyAccess(contact, user);
+
+        DraftJob job = new DraftJob();
+        job.setTeamId(user.getTeamId());
+        job.setCreatedById(user.getId());
+        job.setContactId(contact.getId());
+        job.setRegenerate(request.isRegenerate());
+        job.setStatus(DraftJob.Status.QUEUED);
+        job.setCreatedAt(LocalDateTime.now());
+        job.setUpdatedAt(job.getCreatedAt());
+        job = jobRepository.save(job);
+
+        String jobId = job.getId();
+        executor.execute(() -> run(jobId));
+        return job;
+    }
+
+    public DraftJob getJob(String jobId, AuthenticatedUser user) {
+        DraftJob job = jobRepository.findByIdAndTeamId(jobId, user.getTeamId())
+                .orElseThrow(() -> new ResourceNotFoundException("Draft job not found"));
+        // Coordinators only see the jobs they started
+        if (user.getRole() != User.Role.CORE && !user.getId().equals(job.getCreatedById())) {
+            throw new ResourceNotFoundException("Draft job not found");
+        }
+        return job;
+    }
+
+    public SseEmitter subscribe(String jobId, AuthenticatedUser user) {
+        getJob(jobId, user);
+        return eventPublisher.subscribe(jobId, () -> jobRepository.findById(jobId).orElse(null),
+                DraftJob::isFinished);
+    }
+
+    // Jobs interrupted by a restart are simply run again
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<DraftJob> unfinished = jobRepository.findByStatusIn(
+                List.of(DraftJob.Status.QUEUED, DraftJob.Status.RUNNING));
+        for (DraftJob job : unfinished) {
+            logger.info("Resuming draft job {}", job.getId());
+            String jobId = job.getId();
+            executor.execute(() -> run(jobId));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(String jobId) {
+        DraftJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.isFinished()) {
+            return;
+        }
+
+        job.setStatus(DraftJob.Status.RUNNING);
+        job.setUpdatedAt(LocalDateTime.now());
+        job = jobRepository.save(job);
+        eventPublisher.publish(jobId, job);
+
+        try {
+            Contact contact = contactRepository.findById(job.getContactId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Contact not found"));
+            GeneratedEmail result = aiService.generateEmail(contact, job.isRegenerate());
+            job.setResult(result);
+            job.setStatus(DraftJob.Status.COMPLETED);
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // Shutting down: leave it RUNNING so it is picked up again on restart
+                return;
+            }
+            logger.warn("Draft job {} failed: {}", jobId, e.getMessage());
+            job.setError(e.getMessage());
+            job.setStatus(DraftJob.Status.FAILED);
+        }
+
+        job.setFinishedAt(LocalDateTime.now());
+        job.setUpdatedAt(job.getFinishedAt());
+        job = jobRepository.save(job);
+        eventPublisher.complete(jobId, job);
+    }
+
+    private void verifyAccess(Contact contact, AuthenticatedUser user) {
+        if (user.getRole() == User.Role.CORE) {
+            if (!user.getTeamId().equals(contact.getTeamId())) {
+                throw new SecurityException("Access Denied: Contact belongs to another team");
+            }
+        } else if (!user.getId().equals(contact.getAssignedToId())) {
+            throw new SecurityException("Access Denied: You are not assigned to this contact");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.placementpitcher.backend.service;
+
+import com.placementpitcher.backend.concurrent.BoundedExecutors;
+import com.placementpitcher.backend.dto.GeneratedEmail;
+import com.placementpitcher.backend.exception.ResourceNotFoundException;
+import com.placementpitcher.backend.model.Contact;
+import com.placementpitcher.backend.model.User;
+import com.placementpitcher.backend.repository.ContactRepository;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Relays a streamed draft to the browser as Server-Sent Events:
+ * {@code delta} events carry {field, text} fragments, followed by a single
+ * {@code done} event with the full draft or an {@code error} event.
+ */
+@Service
+public class DraftStreamingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DraftStreamingService.class);
+    private static final long EMITTER_TIMEOUT_MS = 2 * 60 * 1000L;
+
+    private final AiService aiService;
+    private final ContactRepository contactRepository;
+    private final ExecutorService executor;
+    // Streams beyond this are refused up front instead of waiting out the emitter timeout
+    private final Semaphore slots;
+
+    public DraftStreamingService(AiService aiService, ContactRepository contactRepository,
+            @Value("${ai.stream.max-concurrent:16}") int maxConcurrent,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.aiService = aiService;
+        this.contactRepository = contactRepository;
+        this.executor = BoundedExecutors.create("draft-stream", maxConcurrent, virtualThreads);
+        this.slots = new Semaphore(maxConcurrent);
+    }
+
+    public SseEmitter stream(String contactId, AuthenticatedUser user) {
+        Contact contact = contactRepository.findById(contactId)
+                .orElseThrow(() -> new ResourceNotFoundException("Contact not found"));
+        verifyAccess(contact, user);
+
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        if (!slots.tryAcquire()) {
+            logger.debug("Refusing draft stream for contact {}: all streams busy", contact.getId());
+            sendError(emitter, "Too many drafts are being generated right now. Please try again shortly.");
+            return emitter;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    relay(contact, emitter);
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    private void relay(Contact contact, SseEmitter emitter) {
+        try {
+            GeneratedEmail draft = aiService.streamEmail(contact, (field, text) -> {
+                try {
+                    emitter.send(SseEmitter.event().name("delta").data(Map.of("field", field, "text", text)));
+                } catch (IOException e) {
+                    // Client went away; abort the upstream call as well
+                    throw new IllegalStateException("Client disconnected", e);
+                }
+            });
+            emitter.send(SseEmitter.event().name("done").data(draft));
+            emitter.complete();
+        } catch (Exception e) {
+            logger.warn("Streaming draft for contact {} failed: {}", contact.getId(), e.getMessage());
+            sendError(emitter, Objects.toString(e.getMessage(), "Draft generation failed"));
+        }
+    }
+
+    private void sendError(SseEmitter emitter, String message) {
+        try {
+            emitter.send(SseEmitter.event().name("error").data(Map.of("message", message)));
+            emitter.complete();
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void verifyAccess(Contact contact, AuthenticatedUser user) {
+        if (user.getRole() == User.Role.CORE) {
+            if (!user.getTeamId().equals(contact.getTeamId())) {
+                throw new SecurityException("Access Denied: Contact belongs to another team");
+            }
+        } else if (!user.getId().equals(contact.getAssignedToId())) {
+            throw new SecurityException("Access Denied: You are not assigned to this contact");
+        }
+    }
+}
@@ -1,28 +1,43 @@
 package com.placementpitcher.backend.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placementpitcher.backend.concurrent.BoundedExecutors;
 import com.placementpitcher.backend.model.Contact;
 import com.placementpitcher.backend.model.SentEmail;
-import com.placementpitcher.backend.model.User;
 import com.placementpitcher.backend.repository.ContactRepository;
-import com.placementpitcher.backend.repository.UserRepository;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 @Service
 public class EmailSendingService {
 
-    private final RestTemplate restTemplate;
+    private static final URI RESEND_URI = URI.create("https://api.resend.com/emails");
+    private static final Duration RESEND_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
     private final ContactRepository contactRepository;
-    private final UserRepository userRepository;
+    private final ContactCounterService counterService;
+    private final TeamVersionService teamVersionService;
+    // Mongo writes after a send, kept off the HTTP client's few response threads
+    private final ExecutorService recordExecutor;
 
     @Value("${resend.api.key}")
     private String resendApiKey;
@@ -30,25 +45,43 @@ public class EmailSendingService {
     @Value("${spring.mail.username}")
     private String fromEmail;
 
-    public EmailSendingService(RestTemplate restTemplate, ContactRepository contactRepository,
-            UserRepository userRepository) {
-        this.restTemplate = restTemplate;
+    public EmailSendingService(HttpClient httpClient, ObjectMapper objectMapper, ContactRepository contactRepository,
+            ContactCounterService counterService, TeamVersionService teamVersionService,
+            @Value("${email.record.concurrency:4}") int recordConcurrency,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
         this.contactRepository = contactRepository;
-        this.userRepository = userRepository;
+        this.counterService = counterService;
+        this.teamVersionService = teamVersionService;
+        this.recordExecutor = BoundedExecutors.create("email-record", recordConcurrency, virtualThreads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Let queued history updates finish; Resend has already accepted those messages
+        recordExecutor.shutdown();
     }
 
     public void sendEmail(String contactEmail, String subject, String body, String companyName,
-            List<MultipartFile> files, String senderEmail,
+            List<MultipartFile> files, AuthenticatedUser user,
             String inReplyToMessageId) {
+        join(sendEmailAsync(contactEmail, subject, body, companyName, files, user, inReplyToMessageId));
+    }
+
+    /**
+     * Non-blocking {@link #sendEmail}: the contact lookup and payload are built on
+     * the calling thread, then the Resend call completes without holding it. The
+     * contact's history is updated once Resend accepts the message.
+     */
+    public CompletableFuture<Void> sendEmailAsync(String contactEmail, String subject, String body,
+            String companyName, List<MultipartFile> files, AuthenticatedUser user, String inReplyToMessageId) {
 
         if (fromEmail == null || fromEmail.isEmpty()) {
             System.out.println("WARN: Email sending skipped. FROM email is not configured.");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
-        User user = userRepository.findByEmail(senderEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
         List<Contact> teamContacts = contactRepository.findByTeamId(user.getTeamId());
         Contact contact = teamContacts.stream()
                 .filter(c -> c.getEmail() != null && c.getEmail().contains(contactEmail))
@@ -97,10 +130,13 @@ public class EmailSendingService {
             }
         }
 
-        // Send Request
-        sendToResend(payload);
+        // Send Request, then update history
+        return sendToResendAsync(payload)
+                .thenRunAsync(() -> recordSent(contact, subject, body, files, generatedMessageId), recordExecutor);
+    }
 
-        // Update History
+    private void recordSent(Contact contact, String subject, String body, List<MultipartFile> files,
+            String generatedMessageId) {
         SentEmail sentEmailLog = new SentEmail();
         sentEmailLog.setSubject(subject);
         sentEmailLog.setBody(body);
@@ -114,16 +150,23 @@ public class EmailSendingService {
             sentEmailLog.setAttachmentNames(attachmentNames);
         }
 
+        String previousStatus = contact.getStatus();
         contact.getSentEmails().add(sentEmailLog);
         contact.setStatus("Sent");
 
         contactRepository.save(contact);
+        counterService.recordStatusChange(contact, previousStatus);
+        teamVersionService.bump(contact.getTeamId());
     }
 
     public void sendSystemEmail(String to, String subject, String body) {
+        join(sendSystemEmailAsync(to, subject, body));
+    }
+
+    public CompletableFuture<Void> sendSystemEmailAsync(String to, String subject, String body) {
         if (fromEmail == null || fromEmail.isEmpty()) {
             System.out.println("WARN: System email sending skipped. FROM email is not configured.");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
         Map<String, Object> payload = new HashMap<>();
@@ -132,33 +175,60 @@ public class EmailSendingService {
         payload.put("subject", subject);
         payload.put("text", body);
 
-        try {
-            sendToResend(payload);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to send system email: " + e.getMessage(), e);
-        }
+        return sendToResendAsync(payload).exceptionally(e -> {
+            Throwable cause = unwrap(e);
+            throw new RuntimeException("Failed to send system email: " + cause.getMessage(), cause);
+        });
     }
 
-    private void sendToResend(Map<String, Object> payload) {
+    private CompletableFuture<Void> sendToResendAsync(Map<String, Object> payload) {
         if (resendApiKey == null || resendApiKey.isEmpty() || resendApiKey.startsWith("re_placeholder")) {
             System.out.println("WARN: Resend API Key is missing or invalid. Email not sent.");
             // Throwing exception might be better depending on requirement
-            throw new RuntimeException("Resend API Key is not configured correctly.");
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("Resend API Key is not configured correctly."));
         }
 
-        String url = "https://api.resend.com/emails";
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(resendApiKey);
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(RESEND_URI)
+                    .timeout(RESEND_TIMEOUT)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + resendApiKey)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload)))
+                    .build();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw new com.placementpitcher.backend.exception.BusinessException(
+                                "Failed to send email via Resend: " + unwrap(error).getMessage(), unwrap(error));
+                    }
+                    if (response.statusCode() >= 400) {
+                        // Surface Resend's error body, it says what was wrong with the message
+                        throw new com.placementpitcher.backend.exception.BusinessException(
+                                "Failed to send email via Resend: " + response.statusCode() + " " + response.body());
+                    }
+                    return null;
+                });
+    }
 
+    // Blocking callers get the original exception rather than a CompletionException wrapper
+    private static void join(CompletableFuture<Void> future) {
         try {
-            restTemplate.postForEntity(url, entity, String.class);
-        } catch (Exception e) {
-            // Extract detailed error if possible
-            throw new com.placementpitcher.backend.exception.BusinessException(
-                    "Failed to send email via Resend: " + e.getMessage(), e);
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
     }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
 }
@@ -1,111 +1,446 @@
 package com.placementpitcher.backend.service;
 
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.placementpitcher.backend.dto.ImportResult;
+import com.placementpitcher.backend.exception.BusinessException;
 import com.placementpitcher.backend.model.Contact;
 import com.placementpitcher.backend.model.User;
-import com.placementpitcher.backend.repository.ContactRepository;
-import com.placementpitcher.backend.repository.UserRepository;
+import com.placementpitcher.backend.security.AuthenticatedUser;
 import org.apache.poi.ss.usermodel.*;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class ExcelImportService {
 
-    private final ContactRepository contactRepository;
-    private final UserRepository userRepository;
+    private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
 
-    public ExcelImportService(ContactRepository contactRepository, UserRepository userRepository) {
-        this.contactRepository = contactRepository;
-        this.userRepository = userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ContactCounterService counterService;
+    private final TeamVersionService teamVersionService;
+    private final ContactSearchService searchService;
+    private final int chunkSize;
+
+    public ExcelImportService(MongoTemplate mongoTemplate,
+            ContactCounterService counterService, TeamVersionService teamVersionService,
+            ContactSearchService searchService,
+            @Value("${import.chunk-size:500}") int chunkSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.counterService = counterService;
+        this.teamVersionService = teamVersionService;
+        this.searchService = searchService;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Called after every committed chunk. Throwing from here (e.g. a
+     * {@link java.util.concurrent.CancellationException}) stops the import.
+     */
+    public interface ChunkListener {
+        void onChunk(ImportResult.ChunkResult chunk, List<ImportResult.RowError> errors);
+    }
+
+    public ImportResult importContacts(MultipartFile file, AuthenticatedUser user) throws IOException {
+        return importContacts(file, user, null);
+    }
+
+    /**
+     * @param encoding charset for CSV/TSV files without a byte order mark; UTF-8 if null
+     */
+    public ImportResult importContacts(MultipartFile file, AuthenticatedUser user, String encoding)
+            throws IOException {
+        return importContacts(file, user, encoding, false);
+    }
+
+    /**
+     * @param encoding charset for CSV/TSV files without a byte order mark; UTF-8 if null
+     * @param merge    update contacts whose email already exists in the team instead of skipping them
+     */
+    public ImportResult importContacts(MultipartFile file, AuthenticatedUser user, String encoding, boolean merge)
+            throws IOException {
+        ImportSession session = new ImportSession(user, merge, 0, null);
+        Format format = detectFormat(file.getOriginalFilename(), file.getContentType());
+
+        if (format == Format.XLSX) {
+            // Stream .xlsx from disk with the SAX reader; opening the zip from a file
+            // avoids buffering the whole upload in memory
+            Path temp = Files.createTempFile("contacts-import-", ".xlsx");
+            try {
+                file.transferTo(temp);
+                XlsxStreamingReader.read(temp.toFile(), chunkSize, session::accept);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } else {
+            // CSV/TSV is parsed straight off the multipart stream
+            try (InputStream is = file.getInputStream()) {
+                readStream(is, format, encoding, session);
+            }
+        }
+
+        return session.result;
+    }
+
+    /**
+     * Imports a file already spooled to disk, as background import jobs do.
+     *
+     * @param resumeAfterRow rows up to and including this row number were committed
+     *                       by an earlier run and are skipped
+     */
+    public ImportResult importFile(Path path, String fileName, String contentType, String encoding,
+            AuthenticatedUser user, boolean merge, int resumeAfterRow, ChunkListener listener) throws IOException {
+        ImportSession session = new ImportSession(user, merge, resumeAfterRow, listener);
+        Format format = detectFormat(fileName, contentType);
+
+        if (format == Format.XLSX) {
+            XlsxStreamingReader.read(path.toFile(), chunkSize, session::accept);
+        } else {
+            try (InputStream is = Files.newInputStream(path)) {
+                readStream(is, format, encoding, session);
+            }
+        }
+        return session.result;
     }
 
-    public Map<String, Integer> importContacts(MultipartFile file, String email) throws IOException {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    private void readStream(InputStream is, Format format, String encoding, ImportSession session)
+            throws IOException {
+        switch (format) {
+            case CSV -> CsvStreamingReader.read(is, ',', resolveCharset(encoding), chunkSize, session::accept);
+            case TSV -> CsvStreamingReader.read(is, '\t', resolveCharset(encoding), chunkSize, session::accept);
+            // Legacy .xls has no streaming reader worth using; fall back to the DOM model
+            default -> readWorkbook(is, session::accept);
+        }
+    }
+
+    /**
+     * Persists one chunk: duplicates against the team are resolved with a single
+     * {@code $in} query, duplicates within the file with the session's email set,
+     * and the survivors go out as one unordered insertMany so a bad document does
+     * not stop the rest of the chunk.
+     */
+    private void saveChunk(List<ImportRow> rows, ImportSession session) {
+        AuthenticatedUser user = session.user;
+        ImportResult.ChunkResult chunk = newChunk(rows, session);
+        List<ImportResult.RowError> chunkErrors = new ArrayList<>();
+
+        Map<String, String> existing = findExistingAssignees(rows, user.getTeamId());
 
         List<Contact> contactsToSave = new ArrayList<>();
-        int skipped = 0;
+        List<Integer> rowNumbers = new ArrayList<>();
 
-        try (InputStream is = file.getInputStream(); Workbook workbook = WorkbookFactory.create(is)) {
+        for (ImportRow row : rows) {
+            String companyName = row.get("company_name");
+            String emailAddr = normalizeEmail(row.get("email"));
+
+            // Minimal validation: Needs Company Name + Email (or at least Company Name?)
+            // Let's say Company Name is mandatory.
+            if (companyName == null || companyName.isEmpty())
+                continue;
+
+            if (emailAddr != null) {
+                // Duplicate Check: already in the team, or earlier in this file
+                if (existing.containsKey(emailAddr) || !session.seenEmails.add(emailAddr)) {
+                    chunk.setSkipped(chunk.getSkipped() + 1);
+                    continue;
+                }
+            }
+
+            contactsToSave.add(newContact(row, companyName, emailAddr, user));
+            rowNumbers.add(row.rowNumber());
+        }
+
+        if (!contactsToSave.isEmpty()) {
+            try {
+                BulkWriteResult written = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Contact.class)
+                        .insert(contactsToSave)
+                        .execute();
+                chunk.setInserted(written.getInsertedCount());
+            } catch (BulkOperationException e) {
+                chunk.setInserted(e.getResult().getInsertedCount());
+                chunk.setErrored(e.getErrors().size());
+                for (BulkWriteError error : e.getErrors()) {
+                    chunkErrors.add(new ImportResult.RowError(rowNumbers.get(error.getIndex()), error.getMessage()));
+                }
+            }
+        }
+
+        completeChunk(chunk, chunkErrors, session);
+    }
+
+    /**
+     * Merge-mode counterpart of {@link #saveChunk}: each row becomes an upsert keyed
+     * on (teamId, email) that only {@code $set}s the columns the row actually fills,
+     * so status, send history, replies and assignment of existing contacts are left
+     * alone. Defaults for new contacts go in through {@code $setOnInsert}. Rows
+     * without an email have nothing to match on and are plain inserts.
+     * Coordinators may only update their own contacts: the upsert also matches on
+     * the assignee, and rows whose email belongs to someone else's contact are
+     * reported as errors rather than creating a duplicate.
+     */
+    private void mergeChunk(List<ImportRow> rows, ImportSession session) {
+        AuthenticatedUser user = session.user;
+        ImportResult.ChunkResult chunk = newChunk(rows, session);
+        List<ImportResult.RowError> chunkErrors = new ArrayList<>();
+
+        boolean coordinator = user.getRole() == User.Role.COORDINATOR;
+        Map<String, String> existing = coordinator ? findExistingAssignees(rows, user.getTeamId()) : Map.of();
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Contact.class);
+        List<Integer> rowNumbers = new ArrayList<>();
+        Set<String> upsertedEmails = new HashSet<>();
+
+        for (ImportRow row : rows) {
+            String companyName = row.get("company_name");
+            String emailAddr = normalizeEmail(row.get("email"));
+
+            if (companyName == null || companyName.isEmpty())
+                continue;
+
+            if (emailAddr == null) {
+                bulk.insert(newContact(row, companyName, null, user));
+                rowNumbers.add(row.rowNumber());
+                continue;
+            }
+            // Two upserts for the same new email in one unordered batch could both insert
+            if (!session.seenEmails.add(emailAddr)) {
+                chunk.setSkipped(chunk.getSkipped() + 1);
+                continue;
+            }
+            if (existing.containsKey(emailAddr) && !user.getId().equals(existing.get(emailAddr))) {
+                chunk.setErrored(chunk.getErrored() + 1);
+                chunkErrors.add(new ImportResult.RowError(row.rowNumber(),
+                        "A contact with email " + emailAddr + " is assigned to someone else"));
+                continue;
+            }
+
+            Update update = new Update();
+            setIfPresent(update, "companyName", companyName);
+            setIfPresent(update, "hrName", row.get("hr_name"));
+            setIfPresent(update, "phone", row.get("phone"));
+            setIfPresent(update, "linkedIn", row.get("linkedin"));
+            setIfPresent(update, "context", row.get("context"));
+            update.setOnInsert("email", emailAddr)
+                    .setOnInsert("teamId", user.getTeamId())
+                    .setOnInsert("status", "Pending")
+                    .setOnInsert("createdById", user.getId())
+                    .setOnInsert("sentEmails", List.of())
+                    .setOnInsert("replies", List.of())
+                    .setOnInsert("createdAt", LocalDateTime.now());
+            if (coordinator) {
+                update.setOnInsert("assignedToId", user.getId());
+            }
+
+            // Case-insensitive so contacts stored with other casing are updated rather than duplicated
+            upsertedEmails.add(emailAddr);
+            Criteria criteria = Criteria.where("teamId").is(user.getTeamId()).and("email").is(emailAddr);
+            if (coordinator) {
+                criteria.and("assignedToId").is(user.getId());
+            }
+            Query query = Query.query(criteria).collation(Contact.EMAIL_COLLATION);
+            bulk.upsert(query, update);
+            rowNumbers.add(row.rowNumber());
+        }
+
+        if (!rowNumbers.isEmpty()) {
+            try {
+                applyMergeResult(chunk, bulk.execute());
+            } catch (BulkOperationException e) {
+                applyMergeResult(chunk, e.getResult());
+                chunk.setErrored(chunk.getErrored() + e.getErrors().size());
+                for (BulkWriteError error : e.getErrors()) {
+                    chunkErrors.add(new ImportResult.RowError(rowNumbers.get(error.getIndex()), error.getMessage()));
+                }
+            }
+            // Upserts bypass the save-time search indexer and auditing
+            searchService.reindex(user.getTeamId(), upsertedEmails);
+            if (chunk.getInserted() > 0 || chunk.getUpdated() > 0) {
+                // Also stamps rows that matched without changing; delta sync just resends those
+                mongoTemplate.updateMulti(Query.query(Criteria.where("teamId").is(user.getTeamId())
+                                .and("email").in(upsertedEmails)).collation(Contact.EMAIL_COLLATION),
+                        new Update().set("updatedAt", LocalDateTime.now()), Contact.class);
+            }
+        }
+
+        completeChunk(chunk, chunkErrors, session);
+    }
+
+    private void applyMergeResult(ImportResult.ChunkResult chunk, BulkWriteResult written) {
+        // Mongo does not count a $set that leaves the document as it was as modified
+        chunk.setInserted(written.getInsertedCount() + written.getUpserts().size());
+        chunk.setUpdated(written.getModifiedCount());
+        chunk.setUnchanged(written.getMatchedCount() - written.getModifiedCount());
+    }
+
+    private void setIfPresent(Update update, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            update.set(field, value);
+        }
+    }
+
+    private ImportResult.ChunkResult newChunk(List<ImportRow> rows, ImportSession session) {
+        ImportResult.ChunkResult chunk = new ImportResult.ChunkResult();
+        chunk.setChunk(session.result.getChunks().size() + 1);
+        chunk.setFirstRow(rows.get(0).rowNumber());
+        chunk.setLastRow(rows.get(rows.size() - 1).rowNumber());
+        chunk.setRows(rows.size());
+        return chunk;
+    }
+
+    private void completeChunk(ImportResult.ChunkResult chunk, List<ImportResult.RowError> chunkErrors,
+            ImportSession session) {
+        // Every contact created by an import is Pending with the same assignee (the importer or nobody)
+        AuthenticatedUser user = session.user;
+        counterService.recordCreated(user.getTeamId(),
+                user.getRole() == User.Role.COORDINATOR ? user.getId() : null, "Pending", chunk.getInserted());
+        if (chunk.getInserted() > 0 || chunk.getUpdated() > 0) {
+            teamVersionService.bump(user.getTeamId());
+        }
+
+        session.result.addChunk(chunk);
+        chunkErrors.forEach(error -> session.result.addError(error.getRowNumber(), error.getMessage()));
+        if (session.listener != null) {
+            session.listener.onChunk(chunk, chunkErrors);
+        }
+    }
+
+    private Contact newContact(ImportRow row, String companyName, String emailAddr, AuthenticatedUser user) {
+        Contact contact = new Contact();
+        contact.setCompanyName(companyName);
+        contact.setEmail(emailAddr);
+        contact.setHrName(row.get("hr_name"));
+        contact.setPhone(row.get("phone"));
+        contact.setLinkedIn(row.get("linkedin"));
+        contact.setContext(row.get("context"));
+
+        contact.setStatus("Pending");
+        contact.setTeamId(user.getTeamId());
+        contact.setCreatedById(user.getId());
+
+        // If coordinator, assign to self
+        if (user.getRole() == User.Role.COORDINATOR) {
+            contact.setAssignedToId(user.getId());
+        }
+        return contact;
+    }
+
+    // Normalized email of each matching contact in the team, mapped to its assignee (null if unassigned)
+    private Map<String, String> findExistingAssignees(List<ImportRow> rows, String teamId) {
+        Set<String> candidates = new HashSet<>();
+        for (ImportRow row : rows) {
+            String email = normalizeEmail(row.get("email"));
+            if (email != null) {
+                candidates.add(email);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Map.of();
+        }
+
+        // Case-insensitive so contacts stored with other casing (e.g. added by hand) are caught too
+        Query query = Query.query(Criteria.where("teamId").is(teamId).and("email").in(candidates))
+                .collation(Contact.EMAIL_COLLATION);
+        query.fields().include("email", "assignedToId");
+
+        Map<String, String> existing = new HashMap<>();
+        for (Contact contact : mongoTemplate.find(query, Contact.class)) {
+            existing.put(normalizeEmail(contact.getEmail()), contact.getAssignedToId());
+        }
+        return existing;
+    }
+
+    private static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase();
+    }
+
+    private Format detectFormat(String fileName, String contentType) {
+        String name = fileName != null ? fileName.toLowerCase() : "";
+        String type = contentType != null ? contentType : "";
+        if (name.endsWith(".tsv") || name.endsWith(".tab") || type.startsWith("text/tab-separated-values")) {
+            return Format.TSV;
+        }
+        if (name.endsWith(".csv") || type.startsWith("text/csv")) {
+            return Format.CSV;
+        }
+        if (name.endsWith(".xlsx") || XLSX_CONTENT_TYPE.equals(type)) {
+            return Format.XLSX;
+        }
+        return Format.XLS;
+    }
+
+    private Charset resolveCharset(String encoding) {
+        if (encoding == null || encoding.isBlank()) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(encoding.trim());
+        } catch (Exception e) {
+            throw new BusinessException("Unsupported file encoding: " + encoding);
+        }
+    }
+
+    private void readWorkbook(InputStream is, Consumer<List<ImportRow>> sink) throws IOException {
+        try (Workbook workbook = WorkbookFactory.create(is)) {
             Sheet sheet = workbook.getSheetAt(0);
 
             // Expect headers in Row 0
             Row headerRow = sheet.getRow(0);
-            Map<String, Integer> colMap = new HashMap<>();
+            Map<Integer, String> headers = new HashMap<>();
 
             if (headerRow != null) {
                 for (Cell cell : headerRow) {
-                    // Normalize: lowercase, trim, replace spaces with underscores
-                    String header = getCellValue(cell).toLowerCase().trim().replace(" ", "_");
-                    colMap.put(header, cell.getColumnIndex());
+                    headers.put(cell.getColumnIndex(), ImportRow.normalizeHeader(getCellValue(cell)));
                 }
             }
 
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
             for (Row row : sheet) {
                 if (row.getRowNum() == 0)
                     continue; // Skip header
 
-                String companyName = getString(row, colMap, "company_name");
-                String emailAddr = getString(row, colMap, "email");
-
-                // Minimal validation: Needs Company Name + Email (or at least Company Name?)
-                // Let's say Company Name is mandatory.
-                if (companyName == null || companyName.isEmpty())
-                    continue;
-
-                if (emailAddr != null && !emailAddr.isEmpty()) {
-                    // Duplicate Check
-                    if (contactRepository.existsByEmailAndTeamId(emailAddr, user.getTeamId())) {
-                        skipped++;
-                        continue;
+                Map<String, String> values = new HashMap<>();
+                for (Map.Entry<Integer, String> header : headers.entrySet()) {
+                    Cell cell = row.getCell(header.getKey(), Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
+                    if (cell != null) {
+                        values.put(header.getValue(), getCellValue(cell));
                     }
                 }
+                chunk.add(new ImportRow(row.getRowNum() + 1, values));
 
-                Contact contact = new Contact();
-                contact.setCompanyName(companyName);
-                contact.setEmail(emailAddr);
-                contact.setHrName(getString(row, colMap, "hr_name"));
-                contact.setPhone(getString(row, colMap, "phone"));
-                contact.setLinkedIn(getString(row, colMap, "linkedin"));
-                contact.setContext(getString(row, colMap, "context"));
-
-                contact.setStatus("Pending");
-                contact.setTeamId(user.getTeamId());
-                contact.setCreatedById(user.getId());
-
-                // If coordinator, assign to self
-                if (user.getRole() == User.Role.COORDINATOR) {
-                    contact.setAssignedToId(user.getId());
+                if (chunk.size() >= chunkSize) {
+                    sink.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
                 }
-
-                contactsToSave.add(contact);
+            }
+            if (!chunk.isEmpty()) {
+                sink.accept(chunk);
             }
         }
-
-        contactRepository.saveAll(contactsToSave);
-
-        Map<String, Integer> result = new HashMap<>();
-        result.put("saved", contactsToSave.size());
-        result.put("skipped", skipped);
-        return result;
-    }
-
-    private String getString(Row row, Map<String, Integer> colMap, String colName) {
-        if (!colMap.containsKey(colName))
-            return null;
-        int idx = colMap.get(colName);
-        Cell cell = row.getCell(idx, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
-        if (cell == null)
-            return null;
-        return getCellValue(cell);
     }
 
     private String getCellValue(Cell cell) {
@@ -120,4 +455,38 @@ public class ExcelImportService {
                 return "";
         }
     }
+
+    private enum Format {
+        XLSX, XLS, CSV, TSV
+    }
+
+    private class ImportSession {
+        final AuthenticatedUser user;
+        final boolean merge;
+        final int resumeAfterRow;
+        final ChunkListener listener;
+        final ImportResult result = new ImportResult();
+        final Set<String> seenEmails = new HashSet<>();
+
+        ImportSession(AuthenticatedUser user, boolean merge, int resumeAfterRow, ChunkListener listener) {
+            this.user = user;
+            this.merge = merge;
+            this.resumeAfterRow = resumeAfterRow;
+            this.listener = listener;
+        }
+
+        void accept(List<ImportRow> rows) {
+            List<ImportRow> pending = resumeAfterRow > 0
+                    ? rows.stream().filter(row -> row.rowNumber() > resumeAfterRow).toList()
+                    : rows;
+            if (pending.isEmpty()) {
+                return;
+            }
+            if (merge) {
+                mergeChunk(pending, this);
+            } else {
+                saveChunk(pending, this);
+            }
+        }
+    }
 }
@@ -0,0 +1,97 @@
+package com.placementpitcher.backend.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.placementpitcher.backend.dto.GeneratedEmail;
+import com.placementpitcher.backend.exception.MalformedAiResponseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Token-level parsing of Gemini responses with Jackson's streaming API, so the
+ * response is read once straight off the wire without building a tree.
+ */
+final class GeminiResponseParser {
+
+    private GeminiResponseParser() {
+    }
+
+    /**
+     * Returns the text of the first part of the first candidate, or null if the
+     * response has none (e.g. the prompt was blocked).
+     */
+    static String extractText(JsonFactory factory, InputStream in) throws IOException {
+        try (JsonParser parser = factory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("candidates".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                    // candidates[0].content.parts[0].text is the only "text" member in the first candidate
+                    if (parser.nextToken() == JsonToken.START_OBJECT) {
+                        return findFirstText(parser);
+                    }
+                    return null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Parses the structured-output JSON into a draft. Both fields are required.
+     */
+    static GeneratedEmail parseEmail(JsonFactory factory, String text) {
+        String subject = null;
+        String body = null;
+        try (JsonParser parser = factory.createParser(text)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MalformedAiResponseException("Draft is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("subject".equals(field) && value == JsonToken.VALUE_STRING) {
+                    subject = parser.getText();
+                } else if ("body".equals(field) && value == JsonToken.VALUE_STRING) {
+                    body = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new MalformedAiResponseException("Draft is not valid JSON: " + e.getMessage(), e);
+        }
+
+        if (subject == null || subject.isBlank() || body == null || body.isBlank()) {
+            throw new MalformedAiResponseException("Draft is missing a subject or body");
+        }
+        return new GeneratedEmail(subject, body);
+    }
+
+    private static String findFirstText(JsonParser parser) throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return null;
+            }
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                depth++;
+            } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                depth--;
+            } else if (token == JsonToken.FIELD_NAME && "text".equals(parser.currentName())) {
+                if (parser.nextToken() == JsonToken.VALUE_STRING) {
+                    return parser.getText();
+                }
+                parser.skipChildren();
+            }
+        }
+        return null;
+    }
+}
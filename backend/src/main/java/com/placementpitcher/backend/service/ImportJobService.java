@@ -0,0 +1,240 @@
+package com.placementpitcher.backend.service;
+
+import com.placementpitcher.backend.dto.ImportResult;
+import com.placementpitcher.backend.exception.ResourceNotFoundException;
+import com.placementpitcher.backend.model.ImportJob;
+import com.placementpitcher.backend.model.User;
+import com.placementpitcher.backend.repository.ImportJobRepository;
+import com.placementpitcher.backend.repository.UserRepository;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs contact imports in the background. The upload is spooled to disk and the
+ * request returns a job id right away; progress is checkpointed after every
+ * committed chunk, so a restarted job continues after the last checkpoint and a
+ * cancel request takes effect at the next chunk boundary.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobService.class);
+    private static final int MAX_ERRORS = 100;
+
+    private final ImportJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final ExcelImportService importService;
+    private final MongoTemplate mongoTemplate;
+    private final JobEventPublisher eventPublisher;
+    private final ExecutorService executor;
+    private final Path spoolDir;
+
+    public ImportJobService(ImportJobRepository jobRepository, UserRepository userRepository,
+            ExcelImportService importService, MongoTemplate mongoTemplate, JobEventPublisher eventPublisher,
+            @Value("${import.jobs.concurrency:2}") int concurrency,
+            @Value("${import.spool-dir:}") String spoolDir) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.importService = importService;
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.spoolDir = spoolDir.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "placement-pitcher-imports")
+                : Path.of(spoolDir);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread t = new Thread(r, "import-job-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public ImportJob submit(MultipartFile file, String encoding, boolean merge, AuthenticatedUser user)
+            throws IOException {
+        Files.createDirectories(spoolDir);
+        Path spooled = spoolDir.resolve(UUID.randomUUID().toString());
+        file.transferTo(spooled);
+
+        ImportJob job = new ImportJob();
+        job.setTeamId(user.getTeamId());
+        job.setCreatedById(user.getId());
+        job.setStatus(ImportJob.Status.QUEUED);
+        job.setFileName(file.getOriginalFilename());
+        job.setContentType(file.getContentType());
+        job.setEncoding(encoding);
+        job.setMerge(merge);
+        job.setSpoolPath(spooled.toString());
+        job.setCreatedAt(LocalDateTime.now());
+        job.setUpdatedAt(job.getCreatedAt());
+        job = jobRepository.save(job);
+
+        String jobId = job.getId();
+        executor.execute(() -> run(jobId));
+        return job;
+    }
+
+    public ImportJob getJob(String jobId, AuthenticatedUser user) {
+        ImportJob job = jobRepository.findByIdAndTeamId(jobId, user.getTeamId())
+                .orElseThrow(() -> new ResourceNotFoundException("Import job not found"));
+        // Coordinators only see (and can cancel) the imports they started
+        if (user.getRole() != User.Role.CORE && !user.getId().equals(job.getCreatedById())) {
+            throw new ResourceNotFoundException("Import job not found");
+        }
+        return job;
+    }
+
+    public SseEmitter subscribe(String jobId, AuthenticatedUser user) {
+        getJob(jobId, user);
+        return eventPublisher.subscribe(jobId, () -> jobRepository.findById(jobId).orElse(null),
+                ImportJob::isFinished);
+    }
+
+    public ImportJob cancel(String jobId, AuthenticatedUser user) {
+        ImportJob job = getJob(jobId, user);
+        if (job.isFinished()) {
+            return job;
+        }
+        // The worker notices the flag at its next checkpoint (or before it starts)
+        ImportJob updated = mongoTemplate.findAndModify(byId(jobId),
+                new Update().set("cancelRequested", true).set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true), ImportJob.class);
+        eventPublisher.publish(jobId, updated);
+        return updated;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<ImportJob> unfinished = jobRepository.findByStatusIn(
+                List.of(ImportJob.Status.QUEUED, ImportJob.Status.RUNNING));
+        for (ImportJob job : unfinished) {
+            logger.info("Resuming import job {} after row {}", job.getId(), job.getCheckpointRow());
+            String jobId = job.getId();
+            executor.execute(() -> run(jobId));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(String jobId) {
+        ImportJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.isFinished()) {
+            return;
+        }
+        if (job.isCancelRequested()) {
+            finish(jobId, ImportJob.Status.CANCELLED, null);
+            return;
+        }
+
+        Path spooled = Path.of(job.getSpoolPath());
+        if (!Files.exists(spooled)) {
+            finish(jobId, ImportJob.Status.FAILED, "Uploaded file is no longer available");
+            return;
+        }
+        User user = userRepository.findById(job.getCreatedById()).orElse(null);
+        if (user == null) {
+            finish(jobId, ImportJob.Status.FAILED, "User not found");
+            return;
+        }
+
+        ImportJob running = mongoTemplate.findAndModify(byId(jobId),
+                new Update().set("status", ImportJob.Status.RUNNING).set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true), ImportJob.class);
+        eventPublisher.publish(jobId, running);
+
+        try {
+            importService.importFile(spooled, job.getFileName(), job.getContentType(), job.getEncoding(),
+                    AuthenticatedUser.from(user), job.isMerge(), job.getCheckpointRow(),
+                    (chunk, errors) -> checkpoint(jobId, chunk, errors));
+            finish(jobId, ImportJob.Status.COMPLETED, null);
+        } catch (CancellationException e) {
+            finish(jobId, ImportJob.Status.CANCELLED, null);
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // Shutting down: keep the job RUNNING so it resumes from its checkpoint
+                return;
+            }
+            logger.warn("Import job {} failed: {}", jobId, e.getMessage());
+            finish(jobId, ImportJob.Status.FAILED, e.getMessage());
+        }
+    }
+
+    private void checkpoint(String jobId, ImportResult.ChunkResult chunk, List<ImportResult.RowError> errors) {
+        Update update = new Update()
+                .inc("rowsRead", chunk.getRows())
+                .inc("inserted", chunk.getInserted())
+                .inc("updated", chunk.getUpdated())
+                .inc("unchanged", chunk.getUnchanged())
+                .inc("skipped", chunk.getSkipped())
+                .inc("errored", chunk.getErrored())
+                .set("checkpointRow", chunk.getLastRow())
+                .set("updatedAt", LocalDateTime.now());
+        if (!errors.isEmpty()) {
+            update.push("errors").slice(MAX_ERRORS).each(errors.toArray());
+        }
+
+        ImportJob job = mongoTemplate.findAndModify(byId(jobId), update,
+                FindAndModifyOptions.options().returnNew(true), ImportJob.class);
+        if (job == null) {
+            throw new CancellationException("Import job was removed");
+        }
+        eventPublisher.publish(jobId, job);
+
+        if (job.isCancelRequested()) {
+            throw new CancellationException("Import cancelled");
+        }
+    }
+
+    private void finish(String jobId, ImportJob.Status status, String failureReason) {
+        ImportJob job = mongoTemplate.findAndModify(byId(jobId),
+                new Update()
+                        .set("status", status)
+                        .set("failureReason", failureReason)
+                        .set("finishedAt", LocalDateTime.now())
+                        .set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true), ImportJob.class);
+        if (job == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(Path.of(job.getSpoolPath()));
+        } catch (IOException e) {
+            logger.warn("Could not delete spooled upload {}: {}", job.getSpoolPath(), e.getMessage());
+        }
+        logger.info("Import job {} {}: {} inserted, {} updated, {} unchanged, {} skipped, {} errors", jobId, status,
+                job.getInserted(), job.getUpdated(), job.getUnchanged(), job.getSkipped(), job.getErrored());
+        eventPublisher.complete(jobId, job);
+    }
+
+    private Query byId(String jobId) {
+        return Query.query(Criteria.where("id").is(jobId));
+    }
+}
@@ -0,0 +1,21 @@
+package com.placementpitcher.backend.service;
+
+import java.util.Map;
+
+/**
+ * One data row from an uploaded sheet, keyed by normalized header name.
+ *
+ * @param rowNumber 1-based row number as the user sees it in the spreadsheet
+ */
+public record ImportRow(int rowNumber, Map<String, String> values) {
+
+    public String get(String column) {
+        String value = values.get(column);
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    // Normalize: lowercase, trim, replace spaces with underscores
+    public static String normalizeHeader(String header) {
+        return header.toLowerCase().trim().replace(" ", "_");
+    }
+}
@@ -0,0 +1,100 @@
+package com.placementpitcher.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Fans job progress out to Server-Sent Event subscribers. Emitters live only in
+ * memory; the job documents in Mongo stay the source of truth, so a client that
+ * reconnects simply gets a fresh snapshot.
+ */
+@Component
+public class JobEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobEventPublisher.class);
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final String EVENT_NAME = "progress";
+
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a subscriber and then sends it a snapshot of the job. Loading the
+     * snapshot only after registering means a job that finishes in between is
+     * either seen as finished here or completes the emitter itself, so no
+     * subscriber is left waiting on a job that will never publish again.
+     */
+    public <T> SseEmitter subscribe(String jobId, Supplier<T> snapshot, Predicate<? super T> finished) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        emitters.compute(jobId, (k, list) -> {
+            List<SseEmitter> subscribers = list != null ? list : new CopyOnWriteArrayList<>();
+            subscribers.add(emitter);
+            return subscribers;
+        });
+        emitter.onCompletion(() -> unsubscribe(jobId, emitter));
+        emitter.onTimeout(() -> unsubscribe(jobId, emitter));
+        emitter.onError(e -> unsubscribe(jobId, emitter));
+
+        T current;
+        try {
+            current = snapshot.get();
+            if (current == null) {
+                // Job removed in the meantime
+                unsubscribe(jobId, emitter);
+                emitter.complete();
+                return emitter;
+            }
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(current));
+        } catch (IOException | RuntimeException e) {
+            // Includes complete() having already closed this emitter
+            unsubscribe(jobId, emitter);
+            emitter.completeWithError(e);
+            return emitter;
+        }
+
+        if (finished.test(current)) {
+            unsubscribe(jobId, emitter);
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    public void publish(String jobId, Object event) {
+        List<SseEmitter> subscribers = emitters.get(jobId);
+        if (subscribers == null) {
+            return;
+        }
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(SseEmitter.event().name(EVENT_NAME).data(event));
+            } catch (Exception e) {
+                logger.debug("Dropping subscriber for job {}: {}", jobId, e.getMessage());
+                unsubscribe(jobId, emitter);
+            }
+        }
+    }
+
+    public void complete(String jobId, Object finalEvent) {
+        publish(jobId, finalEvent);
+        List<SseEmitter> subscribers = emitters.remove(jobId);
+        if (subscribers != null) {
+            subscribers.forEach(SseEmitter::complete);
+        }
+    }
+
+    private void unsubscribe(String jobId, SseEmitter emitter) {
+        emitters.computeIfPresent(jobId, (k, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
@@ -0,0 +1,147 @@
+package com.placementpitcher.backend.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps prompts within a token budget. Token counts are estimated at roughly
+ * four characters per token, which is close enough for English text to size
+ * sections without calling a tokenizer. The most recent conversation turns are
+ * kept verbatim; older ones are shortened and, if the budget is still exceeded,
+ * dropped oldest-first. Brochure text is clipped to its own budget.
+ */
+@Component
+public class PromptBudgeter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PromptBudgeter.class);
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int OLDER_TURN_CHARS = 300;
+
+    private final int historyTokens;
+    private final int brochureTokens;
+    private final int recentTurns;
+
+    private final DistributionSummary historySize;
+    private final DistributionSummary brochureSize;
+    private final DistributionSummary promptSize;
+
+    public PromptBudgeter(MeterRegistry meterRegistry,
+            @Value("${ai.prompt.history-tokens:2500}") int historyTokens,
+            @Value("${ai.prompt.brochure-tokens:1500}") int brochureTokens,
+            @Value("${ai.prompt.recent-turns:4}") int recentTurns) {
+        this.historyTokens = historyTokens;
+        this.brochureTokens = brochureTokens;
+        this.recentTurns = recentTurns;
+        this.historySize = tokenSummary(meterRegistry, "history");
+        this.brochureSize = tokenSummary(meterRegistry, "brochure");
+        this.promptSize = tokenSummary(meterRegistry, "total");
+    }
+
+    public record Turn(String sender, String content, LocalDateTime timestamp) {
+    }
+
+    public static int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    /**
+     * @param turns conversation sorted oldest first
+     */
+    public String fitHistory(List<Turn> turns) {
+        if (turns.isEmpty()) {
+            return "No previous conversation.";
+        }
+
+        int budgetChars = historyTokens * CHARS_PER_TOKEN;
+        int recentStart = Math.max(0, turns.size() - recentTurns);
+
+        // Recent turns stay verbatim unless they alone exceed the budget, in which
+        // case each gets an equal share
+        List<String> recent = new ArrayList<>();
+        int recentChars = 0;
+        for (int i = recentStart; i < turns.size(); i++) {
+            recentChars += turns.get(i).content() == null ? 0 : turns.get(i).content().length();
+        }
+        int perRecentTurn = recentChars > budgetChars ? budgetChars / (turns.size() - recentStart) : Integer.MAX_VALUE;
+        int used = 0;
+        for (int i = recentStart; i < turns.size(); i++) {
+            String entry = format(turns.get(i), clip(turns.get(i).content(), perRecentTurn));
+            recent.add(entry);
+            used += entry.length();
+        }
+
+        // Walk older turns newest to oldest so the closest context survives
+        Deque<String> older = new ArrayDeque<>();
+        int omitted = 0;
+        for (int i = recentStart - 1; i >= 0; i--) {
+            String entry = format(turns.get(i), clip(collapseWhitespace(turns.get(i).content()), OLDER_TURN_CHARS));
+            if (used + entry.length() > budgetChars) {
+                omitted = i + 1;
+                break;
+            }
+            older.addFirst(entry);
+            used += entry.length();
+        }
+
+        StringBuilder sb = new StringBuilder();
+        if (omitted > 0) {
+            sb.append("[").append(omitted).append(" earlier messages omitted]\n\n");
+        }
+        older.forEach(sb::append);
+        recent.forEach(sb::append);
+
+        String history = sb.toString();
+        historySize.record(estimateTokens(history));
+        return history;
+    }
+
+    public String fitBrochure(String content) {
+        String fitted = clip(content, brochureTokens * CHARS_PER_TOKEN);
+        brochureSize.record(estimateTokens(fitted));
+        return fitted;
+    }
+
+    public void recordPrompt(String prompt) {
+        int tokens = estimateTokens(prompt);
+        promptSize.record(tokens);
+        logger.debug("Assembled prompt: {} chars, ~{} tokens", prompt.length(), tokens);
+    }
+
+    private String format(Turn turn, String content) {
+        return "[" + turn.sender() + "]: " + content + "\n\n";
+    }
+
+    // Cuts at the last whitespace before the limit so words are not split
+    private String clip(String text, int maxChars) {
+        if (text == null || text.length() <= maxChars) {
+            return text;
+        }
+        int cut = text.lastIndexOf(' ', maxChars);
+        if (cut < maxChars / 2) {
+            cut = maxChars;
+        }
+        return text.substring(0, cut).trim() + " [...]";
+    }
+
+    private String collapseWhitespace(String text) {
+        return text == null ? null : text.replaceAll("\\s+", " ").trim();
+    }
+
+    private static DistributionSummary tokenSummary(MeterRegistry registry, String section) {
+        return DistributionSummary.builder("ai.prompt.tokens")
+                .description("Estimated prompt tokens per generation request")
+                .tag("section", section)
+                .publishPercentiles(0.5, 0.95)
+                .register(registry);
+    }
+}
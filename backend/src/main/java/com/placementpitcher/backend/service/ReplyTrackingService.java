@@ -17,6 +17,8 @@ import java.util.Properties;
 public class ReplyTrackingService {
 
     private final ContactRepository contactRepository;
+    private final ContactCounterService counterService;
+    private final TeamVersionService teamVersionService;
 
     @Value("${spring.mail.imap.host}")
     private String imapHost;
@@ -27,8 +29,11 @@ public class ReplyTrackingService {
     @Value("${spring.mail.imap.password}")
     private String imapPassword;
 
-    public ReplyTrackingService(ContactRepository contactRepository) {
+    public ReplyTrackingService(ContactRepository contactRepository, ContactCounterService counterService,
+            TeamVersionService teamVersionService) {
         this.contactRepository = contactRepository;
+        this.counterService = counterService;
+        this.teamVersionService = teamVersionService;
     }
 
     @Scheduled(fixedRate = 60000) // Run every minute
@@ -106,10 +111,13 @@ public class ReplyTrackingService {
                     reply.setReceivedAt(LocalDateTime.now());
                     reply.setMessageId(messageId); // Save Message-ID
 
+                    String previousStatus = contact.getStatus();
                     contact.getReplies().add(reply);
                     contact.setStatus("Reply Received");
 
                     contactRepository.save(contact);
+                    counterService.recordStatusChange(contact, previousStatus);
+                    teamVersionService.bump(contact.getTeamId());
                 }
 
                 // Mark as SEEN only if we processed it
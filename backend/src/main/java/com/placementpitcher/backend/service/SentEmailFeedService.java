@@ -0,0 +1,182 @@
+package com.placementpitcher.backend.service;
+
+import com.placementpitcher.backend.dto.SentEmailPage;
+import com.placementpitcher.backend.dto.SentEmailSummaryDTO;
+import com.placementpitcher.backend.exception.BusinessException;
+import com.placementpitcher.backend.model.User;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Newest-first, keyset-paginated feed of sent emails. The unwind, projection (no
+ * bodies), sort and limit all run inside Mongo.
+ * <p>
+ * To keep the cost of a page independent of how much history there is, the feed
+ * is read in time windows walking backwards from the cursor: each window is an
+ * {@code $elemMatch} range on the {scope, sentEmails.sentAt} index, and the window
+ * doubles until the page is full or the oldest send has been reached. A team with
+ * a steady send rate fills a page from the first window.
+ */
+@Service
+public class SentEmailFeedService {
+
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 200;
+    private static final Duration INITIAL_WINDOW = Duration.ofDays(7);
+
+    private final MongoTemplate mongoTemplate;
+
+    public SentEmailFeedService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public SentEmailPage getPage(AuthenticatedUser user, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        Cursor after = cursor != null && !cursor.isBlank() ? Cursor.decode(cursor) : null;
+
+        Document scope = user.getRole() == User.Role.CORE
+                ? new Document("teamId", user.getTeamId())
+                : new Document("assignedToId", user.getId());
+
+        SentEmailPage page = new SentEmailPage();
+        Date oldest = findOldestSend(scope);
+        if (oldest == null) {
+            return page;
+        }
+
+        // Fetch one extra row to know whether there is a next page
+        List<Document> rows = new ArrayList<>();
+        Date upper = after != null ? after.sentAt() : null;
+        Cursor windowCursor = after; // Only the first window starts at the cursor itself
+        Duration window = INITIAL_WINDOW;
+        while (rows.size() <= pageSize) {
+            Date lower = Date.from((upper != null ? upper.toInstant() : new Date().toInstant()).minus(window));
+            rows.addAll(fetchWindow(scope, lower, upper, windowCursor, pageSize + 1 - rows.size()));
+            if (!lower.after(oldest)) {
+                break;
+            }
+            upper = lower;
+            windowCursor = null;
+            window = window.multipliedBy(2);
+        }
+
+        for (Document row : rows.subList(0, Math.min(rows.size(), pageSize))) {
+            page.getItems().add(toSummary(row));
+        }
+        if (rows.size() > pageSize) {
+            page.setNextCursor(Cursor.of(rows.get(pageSize - 1)).encode());
+        }
+        return page;
+    }
+
+    /**
+     * Sends with {@code lower <= sentAt} and {@code sentAt < upper} (or at/before the
+     * cursor, honouring its tie-breakers), newest first.
+     */
+    private List<Document> fetchWindow(Document scope, Date lower, Date upper, Cursor after, int limit) {
+        Document range = new Document("$gte", lower);
+        if (upper != null) {
+            range.append(after != null ? "$lte" : "$lt", upper);
+        }
+
+        Document match = new Document(scope).append("sentEmails", new Document("$elemMatch",
+                new Document("sentAt", range)));
+        Document unwoundMatch = new Document("sentEmails.sentAt", range);
+        if (after != null) {
+            // (sentAt, _id, idx) < cursor, all descending
+            unwoundMatch.append("$or", List.of(
+                    new Document("sentEmails.sentAt", new Document("$lt", after.sentAt())),
+                    new Document("sentEmails.sentAt", after.sentAt())
+                            .append("_id", new Document("$lt", after.contactId())),
+                    new Document("sentEmails.sentAt", after.sentAt())
+                            .append("_id", after.contactId())
+                            .append("idx", new Document("$lt", after.index()))));
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                stage("$match", match),
+                stage("$project", new Document("email", 1)
+                        .append("companyName", 1)
+                        .append("company_name", 1)
+                        .append("sentEmails.sentAt", 1)
+                        .append("sentEmails.subject", 1)
+                        .append("sentEmails.messageId", 1)),
+                stage("$unwind", new Document("path", "$sentEmails").append("includeArrayIndex", "idx")),
+                stage("$match", unwoundMatch),
+                stage("$sort", new Document("sentEmails.sentAt", -1).append("_id", -1).append("idx", -1)),
+                stage("$limit", limit));
+
+        return mongoTemplate.aggregate(aggregation, "contacts", Document.class).getMappedResults();
+    }
+
+    private Date findOldestSend(Document scope) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                stage("$match", new Document(scope).append("sentEmails.sentAt", new Document("$exists", true))),
+                stage("$sort", new Document("sentEmails.sentAt", 1)),
+                stage("$limit", 1),
+                stage("$project", new Document("oldest", new Document("$min", "$sentEmails.sentAt"))));
+        Document result = mongoTemplate.aggregate(aggregation, "contacts", Document.class).getUniqueMappedResult();
+        return result != null ? result.getDate("oldest") : null;
+    }
+
+    private SentEmailSummaryDTO toSummary(Document row) {
+        Document sent = row.get("sentEmails", Document.class);
+        String companyName = row.getString("companyName");
+
+        SentEmailSummaryDTO dto = new SentEmailSummaryDTO();
+        dto.setId(sent.getString("messageId"));
+        dto.setSubject(sent.getString("subject"));
+        dto.setSentAt(toLocalDateTime(sent.getDate("sentAt")));
+        dto.setContactCompany(companyName != null && !companyName.isEmpty()
+                ? companyName : row.getString("company_name"));
+        dto.setContactEmail(row.getString("email"));
+        dto.setContactId(row.getObjectId("_id").toHexString());
+        return dto;
+    }
+
+    private static AggregationOperation stage(String name, Object spec) {
+        return context -> new Document(name, spec);
+    }
+
+    // Spring stores LocalDateTime as a Date in the JVM's zone; raw pipelines convert the same way
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return date != null ? LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()) : null;
+    }
+
+    private record Cursor(Date sentAt, ObjectId contactId, long index) {
+
+        static Cursor of(Document row) {
+            return new Cursor(row.get("sentEmails", Document.class).getDate("sentAt"),
+                    row.getObjectId("_id"), ((Number) row.get("idx")).longValue());
+        }
+
+        String encode() {
+            String raw = sentAt.getTime() + ":" + contactId.toHexString() + ":" + index;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+                return new Cursor(new Date(Long.parseLong(parts[0])), new ObjectId(parts[1]),
+                        Long.parseLong(parts[2]));
+            } catch (RuntimeException e) {
+                throw new BusinessException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.placementpitcher.backend.service;
+
+/**
+ * Incremental parser for the {"subject": "...", "body": "..."} object the model
+ * streams back. Text arrives in arbitrary chunks (a chunk can end in the middle
+ * of a key or an escape sequence), so this keeps just enough state to decode
+ * string values as they arrive and hand the new characters to a listener.
+ * Anything before the opening brace, such as a ```json fence, is ignored.
+ */
+public class StreamingDraftParser {
+
+    public interface Listener {
+        void onDelta(String field, String text);
+    }
+
+    private enum State {
+        SEEK_OBJECT, EXPECT_KEY, IN_KEY, EXPECT_COLON, EXPECT_VALUE, IN_VALUE, SKIP_VALUE, DONE
+    }
+
+    private final Listener listener;
+    private final StringBuilder subject = new StringBuilder();
+    private final StringBuilder body = new StringBuilder();
+    private final StringBuilder key = new StringBuilder();
+    private final StringBuilder delta = new StringBuilder();
+
+    private State state = State.SEEK_OBJECT;
+    private String currentField;
+    private boolean escaping;
+    private int unicodeDigits = -1; // -1 when not inside a \\uXXXX escape
+    private int unicodeValue;
+    private char pendingHighSurrogate;
+
+    public StreamingDraftParser(Listener listener) {
+        this.listener = listener;
+    }
+
+    public void feed(CharSequence chunk) {
+        for (int i = 0; i < chunk.length() && state != State.DONE; i++) {
+            char c = chunk.charAt(i);
+            switch (state) {
+                case SEEK_OBJECT -> {
+                    if (c == '{') {
+                        state = State.EXPECT_KEY;
+                    }
+                }
+                case EXPECT_KEY -> {
+                    if (c == '"') {
+                        key.setLength(0);
+                        state = State.IN_KEY;
+                    } else if (c == '}') {
+                        state = State.DONE;
+                    }
+                }
+                case IN_KEY -> {
+                    if (escaping) {
+                        key.append(c);
+                        escaping = false;
+                    } else if (c == '\\') {
+                        escaping = true;
+                    } else if (c == '"') {
+                        state = State.EXPECT_COLON;
+                    } else {
+                        key.append(c);
+                    }
+                }
+                case EXPECT_COLON -> {
+                    if (c == ':') {
+                        state = State.EXPECT_VALUE;
+                    }
+                }
+                case EXPECT_VALUE -> {
+                    if (c == '"') {
+                        startField(key.toString());
+                        state = State.IN_VALUE;
+                    } else if (!Character.isWhitespace(c)) {
+                        state = State.SKIP_VALUE;
+                    }
+                }
+                case IN_VALUE -> readValueChar(c);
+                case SKIP_VALUE -> {
+                    // Non-string values are not part of the draft; skip to the next member
+                    if (c == ',') {
+                        state = State.EXPECT_KEY;
+                    } else if (c == '}') {
+                        state = State.DONE;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        flush();
+    }
+
+    public boolean isComplete() {
+        return state == State.DONE;
+    }
+
+    public String getSubject() {
+        return subject.toString();
+    }
+
+    public String getBody() {
+        return body.toString();
+    }
+
+    private void readValueChar(char c) {
+        if (unicodeDigits >= 0) {
+            unicodeValue = (unicodeValue << 4) | Character.digit(c, 16);
+            if (++unicodeDigits == 4) {
+                unicodeDigits = -1;
+                append((char) unicodeValue);
+            }
+            return;
+        }
+        if (escaping) {
+            escaping = false;
+            switch (c) {
+                case 'n' -> append('\n');
+                case 't' -> append('\t');
+                case 'r' -> append('\r');
+                case 'b' -> append('\b');
+                case 'f' -> append('\f');
+                case 'u' -> {
+                    unicodeDigits = 0;
+                    unicodeValue = 0;
+                }
+                default -> append(c); // \" \\ \/
+            }
+            return;
+        }
+        if (c == '\\') {
+            escaping = true;
+        } else if (c == '"') {
+            flush();
+            currentField = null;
+            state = State.EXPECT_KEY;
+        } else {
+            append(c);
+        }
+    }
+
+    private void startField(String name) {
+        flush();
+        currentField = name;
+    }
+
+    private void append(char c) {
+        // Never emit half of a surrogate pair; the client could not render it
+        if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+            return;
+        }
+        if (pendingHighSurrogate != 0) {
+            appendToField(pendingHighSurrogate);
+            pendingHighSurrogate = 0;
+        }
+        appendToField(c);
+    }
+
+    private void appendToField(char c) {
+        if ("subject".equals(currentField)) {
+            subject.append(c);
+        } else if ("body".equals(currentField)) {
+            body.append(c);
+        } else {
+            return;
+        }
+        delta.append(c);
+    }
+
+    private void flush() {
+        if (delta.length() > 0 && currentField != null) {
+            listener.onDelta(currentField, delta.toString());
+        }
+        delta.setLength(0);
+    }
+}
@@ -0,0 +1,63 @@
+package com.placementpitcher.backend.service;
+
+import com.placementpitcher.backend.model.TeamVersion;
+import com.placementpitcher.backend.model.User;
+import com.placementpitcher.backend.security.AuthenticatedUser;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-team change versions for conditional GETs. Contact writes bump the version
+ * explicitly next to their counter updates (bulk imports bump once per chunk);
+ * user saves are picked up from the mapping events. A list endpoint compares the
+ * version-derived ETag with If-None-Match before running its query.
+ */
+@Service
+public class TeamVersionService extends AbstractMongoEventListener<User> {
+
+    private final MongoTemplate mongoTemplate;
+
+    public TeamVersionService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public void bump(String teamId) {
+        if (teamId == null) {
+            return;
+        }
+        mongoTemplate.upsert(Query.query(Criteria.where("teamId").is(teamId)),
+                new Update().inc("version", 1).set("updatedAt", LocalDateTime.now()),
+                TeamVersion.class);
+    }
+
+    public long current(String teamId) {
+        TeamVersion version = mongoTemplate.findById(teamId, TeamVersion.class);
+        return version != null ? version.getVersion() : 0;
+    }
+
+    /**
+     * Strong ETag for one of the user's list resources, or null when the user has
+     * no team to version (those responses are never answered with 304). The
+     * user id is part of the tag because coordinators see only their own
+     * contacts and the same browser may be shared between accounts.
+     */
+    public String etag(String resource, AuthenticatedUser user) {
+        if (user.getTeamId() == null) {
+            return null;
+        }
+        return "\"" + resource + "-" + current(user.getTeamId()) + "-" + user.getId() + "\"";
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        // Names, roles and membership show up in contact lists and the team page
+        bump(event.getSource().getTeamId());
+    }
+}
@@ -0,0 +1,136 @@
+package com.placementpitcher.backend.service;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads the first sheet of an .xlsx file with POI's event (SAX) model. Only the
+ * current row and the pending chunk are held in memory, so heap use does not
+ * grow with the number of rows the way {@code WorkbookFactory.create} does.
+ * Row 0 is treated as the header row.
+ */
+public final class XlsxStreamingReader {
+
+    private XlsxStreamingReader() {
+    }
+
+    public static void read(File file, int chunkSize, Consumer<List<ImportRow>> chunkConsumer) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            // Shared strings are SAX-parsed into a plain list, styles only hold number formats
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+            XSSFReader reader = new XSSFReader(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+
+            RowCollector collector = new RowCollector(chunkSize, chunkConsumer);
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, strings, collector,
+                        new PlainNumberFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+            collector.flush();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to read spreadsheet: " + e.getMessage(), e);
+        }
+    }
+
+    private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final int chunkSize;
+        private final Consumer<List<ImportRow>> chunkConsumer;
+        private final Map<Integer, String> headers = new HashMap<>();
+        private List<ImportRow> chunk;
+        private Map<String, String> current;
+        private int currentRow;
+
+        RowCollector(int chunkSize, Consumer<List<ImportRow>> chunkConsumer) {
+            this.chunkSize = chunkSize;
+            this.chunkConsumer = chunkConsumer;
+            this.chunk = new ArrayList<>(chunkSize);
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentRow = rowNum;
+            current = new HashMap<>();
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (cellReference == null || formattedValue == null) {
+                return;
+            }
+            int col = new CellReference(cellReference).getCol();
+            if (currentRow == 0) {
+                headers.put(col, ImportRow.normalizeHeader(formattedValue));
+                return;
+            }
+            String header = headers.get(col);
+            if (header != null) {
+                current.put(header, formattedValue);
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowNum == 0 || current.isEmpty()) {
+                return;
+            }
+            chunk.add(new ImportRow(rowNum + 1, current));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void headerFooter(String text, boolean isHeader, String tagName) {
+        }
+
+        void flush() {
+            if (!chunk.isEmpty()) {
+                chunkConsumer.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+    }
+
+    // Keep whole numbers such as phone numbers as plain digits instead of "General"
+    // formatting, which switches to scientific notation above 11 digits
+    private static class PlainNumberFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if ("General".equalsIgnoreCase(formatString) && value == Math.rint(value)
+                    && !Double.isInfinite(value)) {
+                return String.valueOf((long) value);
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.placementpitcher.backend.concurrent;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test against a local server that answers every request after a fixed
+ * delay, standing in for a slow Gemini or Resend call.
+ */
+class BoundedExecutorsTest {
+
+    private static final long DELAY_MS = 300;
+    private static final int REQUESTS = 40;
+    private static final int PLATFORM_THREADS = 4;
+
+    @Test
+    void virtualThreadsKeepAllSlowCallsInFlight() throws Exception {
+        withSlowServer(uri -> {
+            long elapsed = runRequests(BoundedExecutors.create("load-virtual", REQUESTS, true), uri,
+                    new AtomicInteger());
+
+            // Every call waits on the server at the same time: about one delay in total
+            assertTrue(elapsed < 3 * DELAY_MS, "virtual threads took " + elapsed + " ms");
+        });
+    }
+
+    @Test
+    void platformPoolQueuesSlowCallsBehindItsThreads() throws Exception {
+        withSlowServer(uri -> {
+            long elapsed = runRequests(BoundedExecutors.create("load-platform", PLATFORM_THREADS, false), uri,
+                    new AtomicInteger());
+
+            // Only PLATFORM_THREADS calls run at once, so the delays add up round by round
+            long rounds = REQUESTS / PLATFORM_THREADS;
+            assertTrue(elapsed >= rounds * DELAY_MS, "platform pool took " + elapsed + " ms");
+        });
+    }
+
+    @Test
+    void virtualThreadsStillRespectTheConcurrencyCap() throws Exception {
+        withSlowServer(uri -> {
+            AtomicInteger peak = new AtomicInteger();
+            runRequests(BoundedExecutors.create("load-capped", PLATFORM_THREADS, true), uri, peak);
+
+            assertEquals(PLATFORM_THREADS, peak.get());
+        });
+    }
+
+    // Runs REQUESTS blocking calls on the executor and returns the wall time in milliseconds
+    private static long runRequests(ExecutorService executor, URI uri, AtomicInteger peak) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).build();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger succeeded = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        // Warm up the client and server so class loading isn't timed
+        client.send(request, HttpResponse.BodyHandlers.discarding());
+
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < REQUESTS; i++) {
+                executor.execute(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        if (client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode() == 200) {
+                            succeeded.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        // Counted as a failure below
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        running.decrementAndGet();
+                        done.countDown();
+                    }
+                });
+            }
+            assertTrue(done.await(60, TimeUnit.SECONDS), "requests did not finish");
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(REQUESTS, succeeded.get());
+        return elapsed;
+    }
+
+    private static void withSlowServer(ServerTest test) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), REQUESTS);
+        ExecutorService handlers = Executors.newCachedThreadPool();
+        server.setExecutor(handlers);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            test.run(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/"));
+        } finally {
+            server.stop(0);
+            handlers.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ServerTest {
+        void run(URI uri) throws Exception;
+    }
+}
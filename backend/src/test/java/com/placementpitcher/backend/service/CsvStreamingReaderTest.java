@@ -0,0 +1,189 @@
+package com.placementpitcher.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CsvStreamingReaderTest {
+
+    @Test
+    void readsRowsKeyedByNormalizedHeader() throws IOException {
+        List<ImportRow> rows = read("Company Name,Email\nAcme,jane@acme.com\n");
+
+        assertEquals(1, rows.size());
+        assertEquals(Map.of("company_name", "Acme", "email", "jane@acme.com"), rows.get(0).values());
+        assertEquals(2, rows.get(0).rowNumber());
+    }
+
+    @Test
+    void keepsDelimitersInsideQuotes() throws IOException {
+        List<ImportRow> rows = read("company_name,context\n\"Acme, Inc.\",\"a,b\"\n");
+
+        assertEquals("Acme, Inc.", rows.get(0).get("company_name"));
+        assertEquals("a,b", rows.get(0).get("context"));
+    }
+
+    @Test
+    void unescapesDoubledQuotes() throws IOException {
+        List<ImportRow> rows = read("company_name\n\"The \"\"Best\"\" Co\"\n");
+
+        assertEquals("The \"Best\" Co", rows.get(0).get("company_name"));
+    }
+
+    @Test
+    void handlesCrlfAndBareCrLineEndings() throws IOException {
+        List<ImportRow> rows = read("company_name\r\nAcme\r\nGlobex\rInitech");
+
+        assertEquals(List.of("Acme", "Globex", "Initech"), companies(rows));
+        assertEquals(List.of(2, 3, 4), rowNumbers(rows));
+    }
+
+    @Test
+    void keepsNewlinesInsideQuotesAndNumbersRowsByStartLine() throws IOException {
+        List<ImportRow> rows = read("company_name,context\nAcme,\"line one\r\nline two\nline three\"\nGlobex,x\n");
+
+        assertEquals("line one\r\nline two\nline three", rows.get(0).get("context"));
+        assertEquals(2, rows.get(0).rowNumber());
+        assertEquals("Globex", rows.get(1).get("company_name"));
+        assertEquals(5, rows.get(1).rowNumber());
+    }
+
+    @Test
+    void skipsBlankLinesButCountsThem() throws IOException {
+        List<ImportRow> rows = read("company_name\n\nAcme\r\n\r\n\r\nGlobex\n\n");
+
+        assertEquals(List.of("Acme", "Globex"), companies(rows));
+        assertEquals(List.of(3, 6), rowNumbers(rows));
+    }
+
+    @Test
+    void trimsUnquotedFieldsOnly() throws IOException {
+        List<ImportRow> rows = read("company_name,context\n  Acme  ,\"  padded  \"\n");
+
+        assertEquals("Acme", rows.get(0).get("company_name"));
+        assertEquals("  padded  ", rows.get(0).get("context"));
+    }
+
+    @Test
+    void stripsFormulaGuardFromExports() throws IOException {
+        List<ImportRow> rows = read("company_name,context,phone\nAcme,\"'=SUM(A1), really\",'+91 98765 43210\n");
+
+        assertEquals("=SUM(A1), really", rows.get(0).get("context"));
+        assertEquals("+91 98765 43210", rows.get(0).get("phone"));
+    }
+
+    @Test
+    void keepsOtherLeadingApostrophes() throws IOException {
+        List<ImportRow> rows = read("company_name\n'Acme'\n");
+
+        assertEquals("'Acme'", rows.get(0).get("company_name"));
+    }
+
+    @Test
+    void readsLastRecordWithoutTrailingNewline() throws IOException {
+        List<ImportRow> rows = read("company_name,email\nAcme,\"jane@acme.com\"");
+
+        assertEquals("jane@acme.com", rows.get(0).get("email"));
+    }
+
+    @Test
+    void ignoresColumnsWithoutHeader() throws IOException {
+        List<ImportRow> rows = read("company_name,,email\nAcme,stray,jane@acme.com,extra\n");
+
+        assertEquals(Map.of("company_name", "Acme", "email", "jane@acme.com"), rows.get(0).values());
+    }
+
+    @Test
+    void stripsUtf8ByteOrderMark() throws IOException {
+        byte[] bom = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+        byte[] data = concat(bom, "company_name\nCafé\n".getBytes(StandardCharsets.UTF_8));
+
+        List<ImportRow> rows = read(data, ',', StandardCharsets.ISO_8859_1);
+
+        assertEquals("Café", rows.get(0).get("company_name"));
+    }
+
+    @Test
+    void detectsUtf16FromByteOrderMark() throws IOException {
+        byte[] bom = { (byte) 0xFF, (byte) 0xFE };
+        byte[] data = concat(bom, "company_name\nCafé\n".getBytes(StandardCharsets.UTF_16LE));
+
+        List<ImportRow> rows = read(data, ',', StandardCharsets.UTF_8);
+
+        assertEquals("Café", rows.get(0).get("company_name"));
+    }
+
+    @Test
+    void usesFallbackCharsetWithoutByteOrderMark() throws IOException {
+        byte[] data = "company_name\nCafé\n".getBytes(StandardCharsets.ISO_8859_1);
+
+        List<ImportRow> rows = read(data, ',', StandardCharsets.ISO_8859_1);
+
+        assertEquals("Café", rows.get(0).get("company_name"));
+    }
+
+    @Test
+    void readsTabSeparatedValues() throws IOException {
+        byte[] data = "company_name\temail\nAcme, Inc.\tjane@acme.com\n".getBytes(StandardCharsets.UTF_8);
+
+        List<ImportRow> rows = read(data, '\t', StandardCharsets.UTF_8);
+
+        assertEquals("Acme, Inc.", rows.get(0).get("company_name"));
+        assertEquals("jane@acme.com", rows.get(0).get("email"));
+    }
+
+    @Test
+    void deliversRowsInChunks() throws IOException {
+        byte[] data = "company_name\nA\nB\nC\nD\nE\n".getBytes(StandardCharsets.UTF_8);
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        CsvStreamingReader.read(new ByteArrayInputStream(data), ',', StandardCharsets.UTF_8, 2,
+                chunk -> chunkSizes.add(chunk.size()));
+
+        assertEquals(List.of(2, 2, 1), chunkSizes);
+    }
+
+    @Test
+    void skipsRowsWithOnlyEmptyValues() throws IOException {
+        List<ImportRow> rows = read("company_name,email\n,\nAcme,\n");
+
+        assertEquals(1, rows.size());
+        assertEquals("Acme", rows.get(0).get("company_name"));
+        assertNull(rows.get(0).get("email"));
+    }
+
+    private static List<ImportRow> read(String csv) throws IOException {
+        return read(csv.getBytes(StandardCharsets.UTF_8), ',', StandardCharsets.UTF_8);
+    }
+
+    private static List<ImportRow> read(byte[] data, char delimiter, Charset fallback) throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        CsvStreamingReader.read(new ByteArrayInputStream(data), delimiter, fallback, 100, rows::addAll);
+        return rows;
+    }
+
+    private static List<String> companies(List<ImportRow> rows) {
+        return rows.stream().map(row -> row.get("company_name")).toList();
+    }
+
+    private static List<Integer> rowNumbers(List<ImportRow> rows) {
+        return rows.stream().map(ImportRow::rowNumber).toList();
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(first);
+        out.writeBytes(second);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,151 @@
+package com.placementpitcher.backend.service;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XlsxStreamingReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsRowsKeyedByNormalizedHeader() throws IOException {
+        File file = workbook(sheet -> {
+            row(sheet, 0, "Company Name", "HR Name", "Email");
+            row(sheet, 1, "Acme", "Jane Doe", "jane@acme.com");
+        });
+
+        List<ImportRow> rows = readAll(file, 10);
+
+        assertEquals(1, rows.size());
+        ImportRow row = rows.get(0);
+        assertEquals("Acme", row.get("company_name"));
+        assertEquals("Jane Doe", row.get("hr_name"));
+        assertEquals("jane@acme.com", row.get("email"));
+    }
+
+    @Test
+    void reportsSpreadsheetRowNumbersAndSkipsEmptyRows() throws IOException {
+        File file = workbook(sheet -> {
+            row(sheet, 0, "Email");
+            row(sheet, 1, "a@x.com");
+            sheet.createRow(2); // Present in the sheet but without cells
+            row(sheet, 4, "b@x.com");
+        });
+
+        List<ImportRow> rows = readAll(file, 10);
+
+        assertEquals(2, rows.size());
+        assertEquals(2, rows.get(0).rowNumber());
+        assertEquals(5, rows.get(1).rowNumber());
+        assertEquals("b@x.com", rows.get(1).get("email"));
+    }
+
+    @Test
+    void deliversRowsInChunks() throws IOException {
+        File file = workbook(sheet -> {
+            row(sheet, 0, "Email");
+            for (int i = 1; i <= 5; i++) {
+                row(sheet, i, "user" + i + "@x.com");
+            }
+        });
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        XlsxStreamingReader.read(file, 2, chunk -> chunkSizes.add(chunk.size()));
+
+        assertEquals(List.of(2, 2, 1), chunkSizes);
+    }
+
+    @Test
+    void keepsLongNumbersAsPlainDigits() throws IOException {
+        File file = workbook(sheet -> {
+            row(sheet, 0, "Phone");
+            sheet.createRow(1).createCell(0).setCellValue(919876543210d);
+        });
+
+        List<ImportRow> rows = readAll(file, 10);
+
+        assertEquals("919876543210", rows.get(0).get("phone"));
+    }
+
+    @Test
+    void ignoresCellsWithoutAHeader() throws IOException {
+        File file = workbook(sheet -> {
+            row(sheet, 0, "Email");
+            row(sheet, 1, "a@x.com", "stray");
+        });
+
+        ImportRow row = readAll(file, 10).get(0);
+
+        assertEquals(Map.of("email", "a@x.com"), row.values());
+    }
+
+    @Test
+    void readsNothingFromAHeaderOnlySheet() throws IOException {
+        File file = workbook(sheet -> row(sheet, 0, "Email", "Phone"));
+
+        List<List<ImportRow>> chunks = new ArrayList<>();
+        XlsxStreamingReader.read(file, 10, chunks::add);
+
+        assertTrue(chunks.isEmpty());
+    }
+
+    @Test
+    void emitsEachChunkAsItsOwnList() throws IOException {
+        File file = workbook(sheet -> {
+            row(sheet, 0, "Email");
+            row(sheet, 1, "a@x.com");
+            row(sheet, 2, "b@x.com");
+        });
+
+        List<List<ImportRow>> chunks = new ArrayList<>();
+        XlsxStreamingReader.read(file, 1, chunks::add);
+
+        assertEquals(2, chunks.size());
+        assertNotSame(chunks.get(0), chunks.get(1));
+        assertEquals("a@x.com", chunks.get(0).get(0).get("email"));
+    }
+
+    private List<ImportRow> readAll(File file, int chunkSize) throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        XlsxStreamingReader.read(file, chunkSize, rows::addAll);
+        return rows;
+    }
+
+    private File workbook(SheetWriter writer) throws IOException {
+        File file = tempDir.resolve("contacts.xlsx").toFile();
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = new FileOutputStream(file)) {
+            writer.write(workbook.createSheet("Contacts"));
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    private static void row(Sheet sheet, int index, String... values) {
+        Row row = sheet.createRow(index);
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SheetWriter {
+        void write(Sheet sheet);
+    }
+}